@@ -0,0 +1,74 @@
+--
+-- Benchmark: age group distribution at 100,000 and 1,000,000 rows
+--
+-- Compares the old path, which streamed every birth date to Java and bucketed it there,
+-- with the grouped query now used by ContactDAO.getAgeGroupDistribution (default groups).
+-- Run with the mysql/mariadb client against the application database (after migration V1).
+-- The old path's cost is dominated by transferring one row per contact, so time its
+-- SELECT with the result discarded on the client:
+--
+--   mysql -u myuser -p oop_rbcm_db < db/benchmarks/age_group_distribution.sql
+--   time mysql -u myuser -p oop_rbcm_db -e "SELECT birth_date FROM contacts_bench WHERE birth_date IS NOT NULL" > /dev/null
+--
+-- (comment out the final DROP TABLE to keep the scratch tables for the second command)
+-- Expected: the old query returns ~950,000 rows at 1M; the grouped query returns 4 rows.
+-- Both read only idx_contacts_birth_date (Extra: Using index).
+--
+
+DROP TABLE IF EXISTS `contacts_bench`;
+CREATE TABLE `contacts_bench` LIKE `contacts`;
+
+-- 10^6 rows from a 10-row digit table cross joined six times
+INSERT INTO `contacts_bench` (`first_name`, `last_name`, `phone_number`, `email`, `birth_date`)
+SELECT CONCAT('First', MOD(n, 5000)),
+       CONCAT('Last', MOD(n, 7000)),
+       CONCAT('05', LPAD(n, 9, '0')),
+       CONCAT('user', n, '@example.com'),
+       CASE WHEN MOD(n, 20) = 0 THEN NULL
+            ELSE DATE_ADD('1950-01-01', INTERVAL MOD(n * 7919, 25550) DAY) END
+FROM (
+    SELECT a.d + b.d * 10 + c.d * 100 + d.d * 1000 + e.d * 10000 + f.d * 100000 AS n
+    FROM (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) a
+    CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) b
+    CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) c
+    CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d
+    CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) e
+    CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) f
+) numbers;
+
+ANALYZE TABLE `contacts_bench`;
+
+DROP TABLE IF EXISTS `contacts_bench_100k`;
+CREATE TABLE `contacts_bench_100k` LIKE `contacts_bench`;
+INSERT INTO `contacts_bench_100k` (`first_name`, `last_name`, `phone_number`, `email`, `birth_date`)
+SELECT `first_name`, `last_name`, `phone_number`, `email`, `birth_date`
+FROM `contacts_bench` ORDER BY contact_id LIMIT 100000;
+ANALYZE TABLE `contacts_bench_100k`;
+
+-- Old path: one row per contact with a birth date
+EXPLAIN SELECT birth_date FROM `contacts_bench_100k` WHERE birth_date IS NOT NULL;
+EXPLAIN SELECT birth_date FROM `contacts_bench` WHERE birth_date IS NOT NULL;
+SELECT COUNT(*) AS rows_transferred_100k FROM `contacts_bench_100k` WHERE birth_date IS NOT NULL;
+SELECT COUNT(*) AS rows_transferred_1m   FROM `contacts_bench`      WHERE birth_date IS NOT NULL;
+
+-- New path: one row per age group
+SELECT CASE WHEN age < 0 THEN NULL WHEN age <= 18 THEN 0 WHEN age <= 30 THEN 1 WHEN age <= 50 THEN 2 ELSE 3 END AS age_group,
+       COUNT(*) AS cnt
+FROM (SELECT TIMESTAMPDIFF(YEAR, birth_date, CURDATE()) AS age
+      FROM `contacts_bench_100k` WHERE birth_date IS NOT NULL) c
+GROUP BY age_group;
+
+SELECT CASE WHEN age < 0 THEN NULL WHEN age <= 18 THEN 0 WHEN age <= 30 THEN 1 WHEN age <= 50 THEN 2 ELSE 3 END AS age_group,
+       COUNT(*) AS cnt
+FROM (SELECT TIMESTAMPDIFF(YEAR, birth_date, CURDATE()) AS age
+      FROM `contacts_bench` WHERE birth_date IS NOT NULL) c
+GROUP BY age_group;
+
+DROP TABLE `contacts_bench_100k`;
+DROP TABLE `contacts_bench`;
@@ -0,0 +1,66 @@
+--
+-- Benchmark: birth month/year search plans at 1,000,000 rows
+--
+-- Builds a scratch copy of `contacts` (after migration V1) with 1M generated rows,
+-- then compares the old function-wrapped predicates with the sargable ones.
+-- Run with the mysql/mariadb client against the application database:
+--
+--   mysql -u myuser -p oop_rbcm_db < db/benchmarks/birth_date_search_plan.sql
+--
+-- Expected plans:
+--   old MONTH()/YEAR() predicates : type=ALL,   rows ~ 1,000,000
+--   birth_month = ?               : type=ref,   key=idx_contacts_birth_month, rows ~ 1/12 of the table
+--   birth_date range              : type=range, key=idx_contacts_birth_date,  rows ~ 1/70 of the table
+-- The IGNORE INDEX hint keeps the baseline honest on MySQL 8, whose optimizer can
+-- otherwise rewrite MONTH(birth_date) to the matching generated column by itself.
+--
+
+DROP TABLE IF EXISTS `contacts_bench`;
+CREATE TABLE `contacts_bench` LIKE `contacts`;
+
+-- 10^6 rows from a 10-row digit table cross joined six times
+INSERT INTO `contacts_bench` (`first_name`, `last_name`, `phone_number`, `email`, `birth_date`)
+SELECT CONCAT('First', MOD(n, 5000)),
+       CONCAT('Last', MOD(n, 7000)),
+       CONCAT('05', LPAD(n, 9, '0')),
+       CONCAT('user', n, '@example.com'),
+       CASE WHEN MOD(n, 20) = 0 THEN NULL
+            ELSE DATE_ADD('1950-01-01', INTERVAL MOD(n * 7919, 25550) DAY) END
+FROM (
+    SELECT a.d + b.d * 10 + c.d * 100 + d.d * 1000 + e.d * 10000 + f.d * 100000 AS n
+    FROM (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) a
+    CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) b
+    CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) c
+    CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d
+    CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) e
+    CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+          UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) f
+) numbers;
+
+ANALYZE TABLE `contacts_bench`;
+
+-- Birth month: before / after
+EXPLAIN SELECT contact_id FROM `contacts_bench` IGNORE INDEX (`idx_contacts_birth_month`)
+ WHERE birth_date IS NOT NULL AND MONTH(birth_date) = 6;
+EXPLAIN SELECT contact_id FROM `contacts_bench`
+ WHERE birth_month = 6;
+
+-- Birth year: before / after
+EXPLAIN SELECT contact_id FROM `contacts_bench`
+ WHERE birth_date IS NOT NULL AND YEAR(birth_date) = 1990;
+EXPLAIN SELECT contact_id FROM `contacts_bench`
+ WHERE birth_date >= '1990-01-01' AND birth_date < '1991-01-01';
+
+-- Wall-clock comparison (compare the client's reported query times)
+SELECT COUNT(*) AS month_scan  FROM `contacts_bench` IGNORE INDEX (`idx_contacts_birth_month`)
+ WHERE MONTH(birth_date) = 6;
+SELECT COUNT(*) AS month_index FROM `contacts_bench` WHERE birth_month = 6;
+SELECT COUNT(*) AS year_scan   FROM `contacts_bench` WHERE YEAR(birth_date) = 1990;
+SELECT COUNT(*) AS year_range  FROM `contacts_bench` WHERE birth_date >= '1990-01-01' AND birth_date < '1991-01-01';
+
+DROP TABLE `contacts_bench`;
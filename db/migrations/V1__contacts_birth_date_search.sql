@@ -0,0 +1,22 @@
+--
+-- V1: sargable birth date searches on `contacts`
+--
+-- MONTH(birth_date) = ? and YEAR(birth_date) = ? wrap the column in a function,
+-- so no index can be used and every search scans the whole table.
+--  * birth_month is a stored generated column with its own index; month searches
+--    and the birth month distribution filter and group on it.
+--  * Year searches are rewritten in ContactDAO as a half-open date range
+--    (birth_date >= 'YYYY-01-01' AND birth_date < 'YYYY+1-01-01'), which uses the
+--    plain birth_date index below.
+--
+-- Works on MariaDB 10.2+ and MySQL 5.7+.
+--
+
+ALTER TABLE `contacts`
+  ADD COLUMN `birth_month` tinyint(4) GENERATED ALWAYS AS (MONTH(`birth_date`)) STORED AFTER `birth_date`;
+
+ALTER TABLE `contacts`
+  ADD KEY `idx_contacts_birth_date` (`birth_date`);
+
+ALTER TABLE `contacts`
+  ADD KEY `idx_contacts_birth_month` (`birth_month`);
@@ -0,0 +1,26 @@
+--
+-- V2: secondary indexes for the ContactDAO query patterns
+--
+--  * first_name : name searches, sort by first name (InnoDB appends contact_id,
+--                 so the index also serves the (first_name, contact_id) keyset order),
+--                 countByFirstName and the first name counts
+--  * last_name  : name searches, sort by last name
+--  * phone_number : phone prefix searches, sort by phone
+--  * email      : phone + email search
+-- birth_date and birth_month are indexed by V1.
+--
+-- Databases created from the current dump already have these keys; the migration
+-- runner treats "duplicate key name" as already applied.
+--
+
+ALTER TABLE `contacts`
+  ADD KEY `idx_contacts_first_name` (`first_name`);
+
+ALTER TABLE `contacts`
+  ADD KEY `idx_contacts_last_name` (`last_name`);
+
+ALTER TABLE `contacts`
+  ADD KEY `idx_contacts_phone_pri` (`phone_number`);
+
+ALTER TABLE `contacts`
+  ADD KEY `idx_contacts_email` (`email`);
@@ -0,0 +1,11 @@
+--
+-- V3: enforce unique user names
+--
+-- UserDAO.findByUsername reads a single row per login and relies on the username
+-- being unique; the unique key also makes the lookup a single index probe.
+-- If duplicate user names exist this migration fails with "Duplicate entry" and
+-- the duplicates have to be resolved before the application is started again.
+--
+
+ALTER TABLE `users`
+  ADD UNIQUE KEY `username` (`username`);
@@ -0,0 +1,22 @@
+--
+-- V4: normalized name search keys
+--
+-- first_name_key / last_name_key hold the names folded by util.SearchKeys
+-- (Turkish case folding, diacritics removed: "Uğurcan Çakır" -> "ugurcan cakir").
+-- The binary collation turns equality and prefix searches into plain byte
+-- comparisons on the key indexes instead of utf8mb4_unicode_ci comparisons.
+-- ContactDAO writes the keys on every insert and update; rows that existed before
+-- this migration are filled in by the application at startup.
+--
+
+ALTER TABLE `contacts`
+  ADD COLUMN `first_name_key` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin DEFAULT NULL AFTER `last_name`;
+
+ALTER TABLE `contacts`
+  ADD COLUMN `last_name_key` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin DEFAULT NULL AFTER `first_name_key`;
+
+ALTER TABLE `contacts`
+  ADD KEY `idx_contacts_first_name_key` (`first_name_key`);
+
+ALTER TABLE `contacts`
+  ADD KEY `idx_contacts_last_name_key` (`last_name_key`);
@@ -0,0 +1,10 @@
+--
+-- V5: index on updated_at
+--
+-- The contact snapshot (snapshot.ContactSnapshot) is validated at startup with
+-- MAX(updated_at) and then reads only the rows changed since it was written
+-- (WHERE updated_at >= ?). Both are index lookups with this key instead of full scans.
+--
+
+ALTER TABLE `contacts`
+  ADD KEY `idx_contacts_updated_at` (`updated_at`);
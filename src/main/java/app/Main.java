@@ -1,12 +1,30 @@
 package app;
 
+import dao.ContactDAO;
+import dao.ContactFilter;
+import dao.DatabaseConnection;
+import dao.SchemaMigrator;
+import export.ContactExporter;
+import export.ExportFormat;
+import search.ContactSearchIndex;
 import service.AuthService;
+import service.ContactImportService;
+import snapshot.ContactSnapshot;
+import stats.ContactStatsAggregate;
+import stats.StatsEngine;
 import ui.screen.*;
 
+import java.nio.file.Path;
 
 /**
  * Main entry point for the Role-Based Contact Management System application.
- * Initializes the authentication service and launches the login screen.
+ * Applies pending schema migrations (and exits with status 1 if the schema cannot be brought
+ * up to date), loads the in-memory search index and statistics
+ * (from the contact snapshot when one is configured),
+ * initializes the authentication service and launches the login screen.
+ * Started as {@code Main import <file> [errorFile]} it imports contacts headlessly instead
+ * (see {@link ContactImportService}) and exits with status 0 if the import completed;
+ * {@code Main export <csv|jsonl|vcf> <file>} exports all contacts (gzip if the file name ends in .gz).
  * @author Group 25
  */
 public class Main {
@@ -17,9 +35,83 @@ public class Main {
      * The application runs continuously until the user chooses to exit.
      */
     public static void main(String[] args) {
+        Runtime.getRuntime().addShutdownHook(new Thread(DatabaseConnection::shutdown, "db-pool-shutdown"));
+
+        if (Boolean.getBoolean("db.skipMigrations")) {
+            if (!new SchemaMigrator().verify()) {
+                System.out.println("The database schema is not up to date. Apply the migrations in db/migrations "
+                        + "or start without -Ddb.skipMigrations.");
+                System.exit(1);
+            }
+        } else if (new SchemaMigrator().migrate()) {
+            new ContactDAO().backfillSearchKeys();
+        } else {
+            System.out.println("The database schema could not be migrated; the application cannot start.");
+            System.exit(1);
+        }
+        if (args.length > 0 && args[0].equals("import")) {
+            System.exit(runImport(args));
+        }
+        if (args.length > 0 && args[0].equals("export")) {
+            System.exit(runExport(args));
+        }
+        ContactSnapshot snapshot = ContactSnapshot.getInstance();
+        ContactSearchIndex.getInstance();
+        if (StatsEngine.configured() == StatsEngine.INCREMENTAL) {
+            ContactStatsAggregate.getInstance();
+        }
+        snapshot.release();
+        snapshot.scheduleWrites();
+
         AuthService authService = new AuthService();
         LoginScreen loginScreen = new LoginScreen(authService);
         AsciiAnimator.runIntro();
         loginScreen.start();
     }
+
+    /**
+     * Runs a headless import, e.g. from a nightly job.
+     * @param args "import", the file and optionally the error file (default: file name + ".errors.csv")
+     * @return the process exit status
+     */
+    private static int runImport(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.out.println("Usage: import <contacts.csv|contacts.tsv> [errorFile]");
+            return 2;
+        }
+        Path input = Path.of(args[1]);
+        Path errorFile = args.length == 3 ? Path.of(args[2]) : Path.of(args[1] + ".errors.csv");
+
+        ContactImportService.Result result = new ContactImportService().importFile(input, errorFile);
+        System.out.printf("Read %d records in %.1f s: %d inserted, %d rejected (see %s)%n",
+                result.getRead(), result.getSeconds(), result.getInserted(), result.getRejected(), errorFile);
+        if (!result.isCompleted()) {
+            System.out.println("Import did not complete.");
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Runs a headless export of all contacts.
+     * @param args "export", the format and the file
+     * @return the process exit status
+     */
+    private static int runExport(String[] args) {
+        ExportFormat format = args.length == 3 ? ExportFormat.parse(args[1]) : null;
+        if (format == null) {
+            System.out.println("Usage: export <csv|jsonl|vcf> <file[.gz]>");
+            return 2;
+        }
+        ContactExporter.Result result = new ContactExporter().export(ContactFilter.all(), format,
+                Path.of(args[2]), args[2].endsWith(".gz"));
+        if (result == null) {
+            System.out.println("Export to " + args[2] + " failed.");
+            return 1;
+        }
+        System.out.printf("Exported %d contacts to %s in %.1f s (%d bytes, %.0f contacts/s, %.1f MB/s)%n",
+                result.getContacts(), args[2], result.getSeconds(), result.getBytes(),
+                result.getContactsPerSecond(), result.getMegabytesPerSecond());
+        return 0;
+    }
 }
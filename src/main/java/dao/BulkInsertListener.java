@@ -0,0 +1,15 @@
+package dao;
+
+/**
+ * Receives progress reports from {@link ContactDAO#insertContacts(Iterable, BulkInsertListener)},
+ * once after every committed chunk.
+ */
+@FunctionalInterface
+public interface BulkInsertListener {
+
+    /**
+     * @param inserted number of contacts inserted so far
+     * @param rowsPerSecond average throughput since the bulk insert started
+     */
+    void chunkCommitted(int inserted, double rowsPerSecond);
+}
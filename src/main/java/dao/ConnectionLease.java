@@ -0,0 +1,175 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Proxy handler for a connection borrowed from the {@link ConnectionPool}.
+ * Calling close() on the proxy hands the physical connection back to the pool
+ * instead of closing it. prepareStatement(sql) and prepareStatement(sql, keys) are
+ * served from the connection's {@link StatementCache}. Statements created through the
+ * lease are tracked and closed when the lease ends, so a forgotten statement cannot
+ * outlive the borrow.
+ *
+ * Statements and result sets handed out through the lease report their exceptions back to it,
+ * so a dead link (SQLState 08) found by executeQuery() or ResultSet.next() marks the
+ * connection broken and the pool closes it instead of lending it out again.
+ */
+final class ConnectionLease implements InvocationHandler {
+
+    private final ConnectionPool pool;
+    private final PooledConnection pooled;
+    private final List<Statement> openStatements = new ArrayList<>();
+    private boolean closed;
+
+    private ConnectionLease(ConnectionPool pool, PooledConnection pooled) {
+        this.pool = pool;
+        this.pooled = pooled;
+    }
+
+    /**
+     * Creates the Connection proxy handed out to callers for a single borrow.
+     * @param pool the owning pool
+     * @param pooled the physical connection being leased
+     * @return proxy implementing java.sql.Connection
+     */
+    static Connection create(ConnectionPool pool, PooledConnection pooled) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new ConnectionLease(pool, pooled));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                closeLease();
+                return null;
+            case "isClosed":
+                return closed;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "PooledConnection[" + pooled.physical + (closed ? ", returned" : "") + "]";
+            default:
+                break;
+        }
+
+        if (closed) {
+            throw new SQLException("Connection has already been returned to the pool.");
+        }
+
+        try {
+            Object result;
+            if (isCacheablePrepare(method)) {
+                result = pooled.statementCache.prepare((String) args[0],
+                        args.length == 2 ? (Integer) args[1] : null, (Connection) proxy, this);
+            } else {
+                result = method.invoke(pooled.physical, args);
+                if (result instanceof Statement) {
+                    result = guard(result, method.getReturnType());
+                }
+            }
+            if (result instanceof Statement) {
+                openStatements.add((Statement) result);
+            }
+            return result;
+        } catch (InvocationTargetException e) {
+            throw markIfBroken(e.getCause());
+        } catch (SQLException e) {
+            throw markIfBroken(e);
+        }
+    }
+
+    /**
+     * prepareStatement(String) and prepareStatement(String, int autoGeneratedKeys) go through the cache.
+     * Variants with result set type/concurrency or column lists are prepared directly.
+     */
+    private static boolean isCacheablePrepare(Method method) {
+        if (!method.getName().equals("prepareStatement")) {
+            return false;
+        }
+        Class<?>[] params = method.getParameterTypes();
+        return params.length == 1 || (params.length == 2 && params[1] == int.class);
+    }
+
+    /**
+     * Wraps a statement or result set of this lease so that its exceptions go through
+     * {@link #markIfBroken(Throwable)}. Result sets it returns are wrapped as well.
+     * @param target the JDBC object
+     * @param type the interface to expose, e.g. PreparedStatement.class
+     * @return the wrapping proxy
+     */
+    <T> T guard(Object target, Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        Object result = method.invoke(target, args);
+                        return result instanceof ResultSet && method.getReturnType() == ResultSet.class
+                                ? guard(result, ResultSet.class)
+                                : result;
+                    } catch (InvocationTargetException e) {
+                        throw markIfBroken(e.getCause());
+                    }
+                }));
+    }
+
+    /**
+     * Marks the connection broken if the exception means the link is gone.
+     * @param cause exception thrown by the connection or one of its statements or result sets
+     * @return the same exception, to be rethrown
+     */
+    Throwable markIfBroken(Throwable cause) {
+        if (cause instanceof SQLException && isConnectionError((SQLException) cause)) {
+            pooled.broken = true;
+        }
+        return cause;
+    }
+
+    /**
+     * Ends this lease: closes tracked statements and returns the connection to the pool.
+     */
+    private void closeLease() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        for (Statement st : openStatements) {
+            try {
+                st.close();
+            } catch (SQLException ignored) {
+            }
+        }
+        openStatements.clear();
+
+        pool.release(pooled);
+    }
+
+    /**
+     * SQLState class 08 means the connection itself is unusable.
+     */
+    private static boolean isConnectionError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+}
@@ -0,0 +1,468 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of physical JDBC connections.
+ *
+ * - Keeps between minSize and maxSize physical connections open.
+ * - Validates a connection on borrow when it has been idle longer than the validation window.
+ * - Evicts connections idle longer than idleTimeout, never going below minSize.
+ * - Reports connections held longer than leakThreshold together with the borrow stack trace.
+ * - Runs the session setup SQL (SET NAMES ...) once per physical connection.
+ * - Keeps an LRU {@link StatementCache} per physical connection.
+ *
+ * Borrowed connections are proxies; calling close() returns them to the pool.
+ */
+public class ConnectionPool {
+
+    private static final long VALIDATION_WINDOW_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final List<String> initSql;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> leased = ConcurrentHashMap.newKeySet();
+    private int totalCount;
+    private boolean closed;
+
+    private final ScheduledExecutorService housekeeper;
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder destroyedCount = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    /**
+     * Creates a pool and opens minSize connections eagerly (failures are retried by housekeeping).
+     * @param url JDBC URL
+     * @param user database user
+     * @param password database password
+     * @param initSql statements run once on every new physical connection
+     * @param minSize connections kept open even when idle
+     * @param maxSize hard upper bound of physical connections
+     * @param borrowTimeoutMillis how long a caller waits for a free connection
+     * @param idleTimeoutMillis idle time after which surplus connections are closed
+     * @param leakThresholdMillis hold time after which a borrow is reported as a leak (0 = off)
+     * @param statementCacheSize prepared statements cached per connection (0 = off)
+     */
+    public ConnectionPool(String url, String user, String password, List<String> initSql,
+                          int minSize, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis,
+                          int statementCacheSize) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.initSql = List.copyOf(initSql);
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis,
+                leakThresholdMillis > 0 ? leakThresholdMillis : idleTimeoutMillis) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        fillToMinimum();
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout if the pool is exhausted.
+     * @return a pooled connection proxy; close it to return it to the pool
+     * @throws SQLException if no connection becomes available in time or a new one cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledConnection pc = takeIdleOrReserveSlot(deadline);
+            if (pc == null) {
+                try {
+                    pc = openPhysical();
+                } catch (SQLException e) {
+                    releaseSlot();
+                    throw e;
+                }
+            } else if (!isUsable(pc)) {
+                validationFailures.increment();
+                destroy(pc);
+                continue;
+            }
+
+            recordWait(System.nanoTime() - start);
+            pc.borrowedAt = System.currentTimeMillis();
+            pc.borrowSite = leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            pc.leakReported = false;
+            leased.add(pc);
+            return ConnectionLease.create(this, pc);
+        }
+    }
+
+    /**
+     * Called by ConnectionLease when a borrowed proxy is closed.
+     */
+    void release(PooledConnection pc) {
+        leased.remove(pc);
+        pc.borrowSite = null;
+
+        if (!pc.broken) {
+            try {
+                if (!pc.physical.getAutoCommit()) {
+                    pc.physical.rollback();
+                    pc.physical.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                pc.broken = true;
+            }
+        }
+
+        if (pc.broken) {
+            destroy(pc);
+            return;
+        }
+
+        pc.lastReturnedAt = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (!closed) {
+                idle.addFirst(pc);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(pc);
+    }
+
+    /**
+     * Closes all idle connections and stops housekeeping.
+     * Connections still borrowed are closed when they are returned.
+     */
+    public void shutdown() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        for (PooledConnection pc : toClose) {
+            destroy(pc);
+        }
+    }
+
+    /**
+     * Returns the idle connection at the head of the LIFO stack, or reserves a slot for a new
+     * physical connection (returns null). Blocks until the deadline when the pool is exhausted.
+     */
+    private PooledConnection takeIdleOrReserveSlot(long deadline) throws SQLException {
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new SQLException("Connection pool has been shut down.");
+                }
+                PooledConnection pc = idle.pollFirst();
+                if (pc != null) {
+                    return pc;
+                }
+                if (totalCount < maxSize) {
+                    totalCount++;
+                    return null;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    timeoutCount.increment();
+                    throw new SQLTransientConnectionException("Timed out after " + borrowTimeoutMillis
+                            + " ms waiting for a database connection (pool size " + maxSize + ", all in use).");
+                }
+                try {
+                    available.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection.", e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            totalCount--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a physical connection and applies the session setup once.
+     * The caller must already hold a reserved slot.
+     */
+    private PooledConnection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        try (Statement s = physical.createStatement()) {
+            for (String sql : initSql) {
+                s.execute(sql);
+            }
+        } catch (SQLException ignored) {
+        }
+        createdCount.increment();
+        return new PooledConnection(physical, new StatementCache(this, physical, statementCacheSize));
+    }
+
+    /**
+     * Validation on borrow. Connections returned within the validation window are trusted
+     * so that back-to-back DAO calls don't pay an extra round trip.
+     */
+    private boolean isUsable(PooledConnection pc) {
+        if (System.currentTimeMillis() - pc.lastReturnedAt < VALIDATION_WINDOW_MILLIS) {
+            return true;
+        }
+        try {
+            return pc.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        pc.closeQuietly();
+        destroyedCount.increment();
+        releaseSlot();
+    }
+
+    private void recordWait(long nanos) {
+        borrowCount.increment();
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Periodic task: leak detection, idle eviction and refilling up to minSize.
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        if (leakThresholdMillis > 0) {
+            for (PooledConnection pc : leased) {
+                Throwable site = pc.borrowSite;
+                if (!pc.leakReported && site != null && now - pc.borrowedAt > leakThresholdMillis) {
+                    pc.leakReported = true;
+                    leakCount.increment();
+                    System.err.println("Possible connection leak: connection held for "
+                            + (now - pc.borrowedAt) + " ms.");
+                    site.printStackTrace();
+                }
+            }
+        }
+
+        List<PooledConnection> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            int surplus = totalCount - minSize;
+            while (it.hasNext() && surplus > 0) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastReturnedAt > idleTimeoutMillis) {
+                    it.remove();
+                    evicted.add(pc);
+                    surplus--;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pc : evicted) {
+            destroy(pc);
+        }
+
+        fillToMinimum();
+    }
+
+    private void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || totalCount >= minSize) {
+                    return;
+                }
+                totalCount++;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                PooledConnection pc = openPhysical();
+                release(pc);
+            } catch (SQLException e) {
+                releaseSlot();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return number of open physical connections (idle + borrowed)
+     */
+    public int getTotalCount() {
+        lock.lock();
+        try {
+            return totalCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of idle physical connections
+     */
+    public int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return number of connections currently borrowed
+     */
+    public int getActiveCount() {
+        return leased.size();
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    /**
+     * @return average time callers waited in borrow(), in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        long count = borrowCount.sum();
+        return count == 0 ? 0.0 : totalWaitNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * @return longest time a caller waited in borrow(), in milliseconds
+     */
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    public long getDestroyedCount() {
+        return destroyedCount.sum();
+    }
+
+    public long getValidationFailureCount() {
+        return validationFailures.sum();
+    }
+
+    public long getLeakCount() {
+        return leakCount.sum();
+    }
+
+    void recordStatementCacheHit() {
+        statementCacheHits.increment();
+    }
+
+    void recordStatementCacheMiss() {
+        statementCacheMisses.increment();
+    }
+
+    void recordStatementCacheEviction() {
+        statementCacheEvictions.increment();
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions.sum();
+    }
+}
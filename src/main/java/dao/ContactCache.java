@@ -0,0 +1,189 @@
+package dao;
+
+import model.Contact;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of complete contacts (every column) keyed by contact_id, bounded by an
+ * estimate of the memory its entries use.
+ *
+ * Filled by reads that select {@link ContactProjection#FULL} and kept current by the
+ * ContactDAO write notifications: saved and deleted contacts are dropped, since the
+ * created_at and updated_at of a write are set by the database and not known here; the
+ * next read caches the row with its real timestamps. Callers always receive their own copy,
+ * since contacts are mutable. Rows changed by other programs are only noticed when
+ * ContactDAO validates hits against updated_at (-Ddb.contactCache.validate=true).
+ */
+public final class ContactCache implements ContactWriteListener {
+
+    /** Rough size of a Contact with its LocalDate, LocalDateTimes and map entry, without the strings. */
+    private static final long CONTACT_OVERHEAD_BYTES = 240;
+    /** Rough size of an empty String object with its byte array. */
+    private static final long STRING_OVERHEAD_BYTES = 56;
+
+    private final long maxBytes;
+    private final boolean validating;
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long staleHits;
+
+    private static final class Entry {
+        final Contact contact;
+        final long bytes;
+
+        Entry(Contact contact, long bytes) {
+            this.contact = contact;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * @param maxBytes memory budget for cached contacts; 0 disables the cache
+     * @param validating true if hits should be checked against updated_at before use
+     */
+    ContactCache(long maxBytes, boolean validating) {
+        this.maxBytes = maxBytes;
+        this.validating = validating;
+    }
+
+    /**
+     * @param contactId the contact ID
+     * @return a copy of the cached contact, or null on a miss
+     */
+    synchronized Contact get(int contactId) {
+        Entry entry = entries.get(contactId);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copy(entry.contact, entry.contact.getUpdatedAt());
+    }
+
+    /**
+     * Drops an entry that failed validation and counts its hit as a miss.
+     * @param contactId the contact ID
+     */
+    synchronized void rejectStale(int contactId) {
+        remove(contactId);
+        hits--;
+        misses++;
+        staleHits++;
+    }
+
+    /**
+     * Caches a complete contact read from the database.
+     * @param contact contact with every column set
+     */
+    synchronized void put(Contact contact) {
+        store(copy(contact, contact.getUpdatedAt()));
+    }
+
+    private void store(Contact contact) {
+        if (maxBytes <= 0) {
+            return;
+        }
+        long size = estimateBytes(contact);
+        if (size > maxBytes) {
+            return;
+        }
+        Entry old = entries.put(contact.getContactId(), new Entry(contact, size));
+        if (old != null) {
+            bytes -= old.bytes;
+        }
+        bytes += size;
+
+        Iterator<Map.Entry<Integer, Entry>> it = entries.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            Entry eldest = it.next().getValue();
+            it.remove();
+            bytes -= eldest.bytes;
+            evictions++;
+        }
+    }
+
+    private void remove(int contactId) {
+        Entry old = entries.remove(contactId);
+        if (old != null) {
+            bytes -= old.bytes;
+        }
+    }
+
+    /**
+     * Removes every entry, e.g. after bulk changes made outside ContactDAO's write methods.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    @Override
+    public synchronized void contactSaved(Contact contact) {
+        remove(contact.getContactId());
+    }
+
+    @Override
+    public synchronized void contactDeleted(int contactId) {
+        remove(contactId);
+    }
+
+    private static Contact copy(Contact c, LocalDateTime updatedAt) {
+        return new Contact(c.getContactId(), c.getFirstName(), c.getLastName(), c.getNickname(),
+                c.getPhoneNumber(), c.getEmail(), c.getLinkedinUrl(), c.getBirthDate(),
+                c.getCreatedAt(), updatedAt);
+    }
+
+    private static long estimateBytes(Contact c) {
+        return CONTACT_OVERHEAD_BYTES + stringBytes(c.getFirstName()) + stringBytes(c.getLastName())
+                + stringBytes(c.getNickname()) + stringBytes(c.getPhoneNumber()) + stringBytes(c.getEmail())
+                + stringBytes(c.getLinkedinUrl());
+    }
+
+    private static long stringBytes(String s) {
+        // worst case of two bytes per char (non-Latin-1 names)
+        return s == null ? 0 : STRING_OVERHEAD_BYTES + 2L * s.length();
+    }
+
+    public boolean isValidating() {
+        return validating;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * @return hits rejected because updated_at showed the row had changed
+     */
+    public synchronized long getStaleHitCount() {
+        return staleHits;
+    }
+}
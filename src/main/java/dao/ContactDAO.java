@@ -1,72 +1,295 @@
 package dao;
 
 import model.Contact;
+import model.ContactStatsSnapshot;
+import util.AgeGroups;
+import util.SearchKeys;
 
-import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.sql.Types;
 import java.time.LocalDate;
-import java.time.Period;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Data Access Object (DAO) class for Contact entities.
  * Provides methods to perform CRUD operations, search, sort, and statistical queries
  * on the contacts table in the database.
+ * All statements run through {@link JdbcExecutor}, which always releases statements and result sets.
+ * Reads select an explicit {@link ContactProjection}: single-contact lookups return every column,
+ * list, search and sort reads return only the columns shown in the contact tables.
+ * Successful writes are reported to the registered {@link ContactWriteListener}s.
  */
 public class ContactDAO {
 
+    /** Fetch size used by the streaming read methods, overridable with -Ddb.stream.fetchSize. */
+    private static final int DEFAULT_STREAM_FETCH_SIZE = Integer.getInteger("db.stream.fetchSize", Integer.MIN_VALUE);
+
+    /** Rows per batch and transaction in {@link #insertContacts(Iterable, BulkInsertListener)}. */
+    private static final int INSERT_BATCH_SIZE = Integer.getInteger("db.insertBatchSize", 1000);
+
+    /** Largest number of IDs bound in one contact_id IN (...) query. */
+    private static final int ID_BATCH_SIZE = 1000;
+
+    /** Listeners shared by all ContactDAO instances, since they all write the same table. */
+    private static final List<ContactWriteListener> WRITE_LISTENERS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Contacts by ID, bounded by -Ddb.contactCache.maxBytes (default 4 MB, 0 disables);
+     * -Ddb.contactCache.validate=true checks hits against updated_at.
+     */
+    private static final ContactCache CONTACT_CACHE = new ContactCache(
+            Long.getLong("db.contactCache.maxBytes", 4L * 1024 * 1024), Boolean.getBoolean("db.contactCache.validate"));
+
+    /** Search results as ID lists, up to -Ddb.searchCache.maxEntries (default 256, 0 disables). */
+    private static final SearchResultCache SEARCH_CACHE = new SearchResultCache(
+            Integer.getInteger("db.searchCache.maxEntries", 256), 10_000);
+
+    /** Contacts table version, bumped by every write so cached search results can tell they are out of date. */
+    private static final AtomicLong TABLE_VERSION = new AtomicLong();
+
+    static {
+        WRITE_LISTENERS.add(CONTACT_CACHE);
+    }
+
+    private int streamFetchSize = DEFAULT_STREAM_FETCH_SIZE;
+
+    /**
+     * Registers a listener notified after every successful insert, update, delete and restore.
+     * @param listener the listener to add
+     */
+    public static void addWriteListener(ContactWriteListener listener) {
+        WRITE_LISTENERS.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     * @param listener the listener to remove
+     */
+    public static void removeWriteListener(ContactWriteListener listener) {
+        WRITE_LISTENERS.remove(listener);
+    }
+
+    /**
+     * @return the shared contact-by-ID cache, for diagnostics
+     */
+    public static ContactCache getContactCache() {
+        return CONTACT_CACHE;
+    }
+
+    /**
+     * @return the shared search result cache, for diagnostics
+     */
+    public static SearchResultCache getSearchCache() {
+        return SEARCH_CACHE;
+    }
+
+    /**
+     * @return the shared name string dictionary used when mapping rows, for diagnostics
+     */
+    public static StringCanonicalizer getNameCanonicalizer() {
+        return ContactProjection.NAMES;
+    }
+
     /**
      * Retrieves all contacts from the database.
      * @return List of all contacts.
      */
     public List<Contact> getAllContacts() {
-        List<Contact> contacts = new ArrayList<>();
-        String sql = "SELECT * FROM contacts";
+        String sql = "SELECT " + ContactProjection.FULL.getSelectList() + " FROM contacts";
+        return queryContacts(sql, JdbcExecutor.NO_PARAMS, ContactProjection.FULL);
+    }
+
+    /**
+     * Streams all contacts with only the columns of the given projection.
+     * @param projection the columns to read
+     * @param action called for every contact as it arrives from the database
+     * @return number of contacts streamed, or -1 if the read failed part way
+     */
+    public int forEachContact(ContactProjection projection, Consumer<Contact> action) {
+        String sql = "SELECT " + projection.getSelectList() + " FROM contacts";
+        return streamContacts(sql, projection, action);
+    }
+
+    /**
+     * Streams the contacts matching the filter in contact_id order on a forward-only cursor,
+     * for exports of any size. Search caches are bypassed: rows are neither served from nor
+     * added to {@link ContactCache}, so a large export does not evict the working set.
+     * ID filters are read in batches of ID_BATCH_SIZE.
+     * @param filter the search condition
+     * @param projection the columns to read
+     * @param action called for every contact as it arrives from the database
+     * @return number of contacts streamed, or -1 if the read failed part way
+     */
+    public int forEachContact(ContactFilter filter, ContactProjection projection, Consumer<Contact> action) {
+        String select = "SELECT " + projection.getSelectList() + " FROM contacts";
+        int[] ids = filter.getIds();
+        if (ids == null) {
+            String sql = filter.isEmpty()
+                    ? select + " ORDER BY contact_id"
+                    : select + " WHERE " + filter.getCondition() + " ORDER BY contact_id";
+            return streamContacts(sql, ps -> filter.bind(ps, 1), projection::map, action);
+        }
+
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int from = 0; from < sorted.length; from += ID_BATCH_SIZE) {
+            ContactFilter batch = ContactFilter.idIn(Arrays.copyOfRange(sorted, from,
+                    Math.min(from + ID_BATCH_SIZE, sorted.length)));
+            String sql = select + " WHERE " + batch.getCondition() + " ORDER BY contact_id";
+            int batchCount = streamContacts(sql, ps -> batch.bind(ps, 1), projection::map, action);
+            if (batchCount < 0) {
+                return -1;
+            }
+            count += batchCount;
+        }
+        return count;
+    }
+
+    /**
+     * Streams the contacts whose updated_at is at or after the given time, in contact_id order.
+     * Inserted and updated rows both qualify, since updated_at is set on insert and on every change.
+     * Like {@link #forEachContact(ContactFilter, ContactProjection, Consumer)} this bypasses ContactCache.
+     * @param since the earliest updated_at to include
+     * @param projection the columns to read
+     * @param action called for every contact as it arrives from the database
+     * @return number of contacts streamed, or -1 if the read failed part way
+     */
+    public int forEachContactChangedSince(LocalDateTime since, ContactProjection projection,
+                                          Consumer<Contact> action) {
+        String sql = "SELECT " + projection.getSelectList() + " FROM contacts WHERE updated_at >= ? ORDER BY contact_id";
+        return streamContacts(sql, ps -> ps.setTimestamp(1, Timestamp.valueOf(since)), projection::map, action);
+    }
 
+    /**
+     * @return the latest updated_at of all contacts, or null if there are none or on error
+     */
+    public LocalDateTime getMaxUpdatedAt() {
+        String sql = "SELECT MAX(updated_at) FROM contacts";
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
+            Timestamp max = JdbcExecutor.queryOne(sql, JdbcExecutor.NO_PARAMS, rs -> rs.getTimestamp(1));
+            return max != null ? max.toLocalDateTime() : null;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
 
-            while (rs.next()) {
-                Contact contact = mapResultSetToContact(rs);
-                contacts.add(contact);
+    /**
+     * Reads the IDs of all contacts, e.g. to find rows deleted since a snapshot was taken.
+     * @return the IDs in ascending order, or null on error
+     */
+    public int[] getAllContactIds() {
+        return readIds("SELECT contact_id FROM contacts ORDER BY contact_id", JdbcExecutor.NO_PARAMS);
+    }
+
+    /**
+     * Returns the IDs of the contacts matching a search, in ascending order.
+     * A search repeated since the last write is answered from {@link SearchResultCache}.
+     * Otherwise the IDs come from the lookup (e.g. the in-memory search index) or, if it has
+     * no answer, from a query on contact_id only, and are cached for the next repeat.
+     * @param filter the search condition, also the cache key
+     * @param lookup finds the IDs without SQL and returns them sorted, or null if it cannot; may be null
+     * @return sorted IDs in an array of the caller's own, or null on error
+     */
+    public int[] findIds(ContactFilter filter, Supplier<int[]> lookup) {
+        long version = TABLE_VERSION.get();
+        int[] cached = SEARCH_CACHE.get(filter, version);
+        if (cached != null) {
+            return cached.clone();
+        }
+        int[] ids = lookup != null ? lookup.get() : null;
+        if (ids == null) {
+            String where = filter.isEmpty() ? "" : " WHERE " + filter.getCondition();
+            ids = readIds("SELECT contact_id FROM contacts" + where + " ORDER BY contact_id", ps -> filter.bind(ps, 1));
+            if (ids == null) {
+                return null;
             }
+        }
+        SEARCH_CACHE.put(filter, version, ids);
+        return ids.clone();
+    }
 
+    /**
+     * Streams a query selecting contact_id into an array.
+     * @return the IDs in query order, or null on error
+     */
+    private int[] readIds(String sql, JdbcExecutor.StatementBinder binder) {
+        int[][] ids = { new int[1024] };
+        int[] count = { 0 };
+        try {
+            JdbcExecutor.stream(sql, binder, streamFetchSize, rs -> {
+                if (count[0] == ids[0].length) {
+                    ids[0] = Arrays.copyOf(ids[0], count[0] * 2);
+                }
+                ids[0][count[0]++] = rs.getInt(1);
+            });
         } catch (SQLException e) {
             e.printStackTrace();
+            return null;
         }
+        return Arrays.copyOf(ids[0], count[0]);
+    }
 
-        return contacts;
+    /**
+     * Sets the fetch size used by the streaming methods.
+     * Integer.MIN_VALUE streams row by row (MySQL Connector/J default for streaming);
+     * positive values require useCursorFetch=true in the JDBC URL.
+     * @param fetchSize the fetch size hint
+     */
+    public void setStreamFetchSize(int fetchSize) {
+        this.streamFetchSize = fetchSize;
     }
 
     /**
      * Retrieves a contact by its ID.
+     * Served from {@link ContactCache} when possible; misses are read and cached.
      * @param id the contact ID to search for
      * @return Contact object.
      */
     public Contact getContactById(int id) {
-        String sql = "SELECT * FROM contacts WHERE contact_id = ?";
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setInt(1, id);
-
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return mapResultSetToContact(rs);
+        Contact cached = CONTACT_CACHE.get(id);
+        if (cached != null) {
+            if (!CONTACT_CACHE.isValidating() || isUnchanged(cached)) {
+                return cached;
             }
+            CONTACT_CACHE.rejectStale(id);
+        }
+        String sql = "SELECT " + ContactProjection.FULL.getSelectList() + " FROM contacts WHERE contact_id = ?";
+        return queryContact(sql, ps -> ps.setInt(1, id), ContactProjection.FULL);
+    }
+
+    /**
+     * Checks a cached contact against the row's updated_at with a primary key lookup.
+     * @return true if the row still exists and has the cached updated_at
+     */
+    private boolean isUnchanged(Contact cached) {
+        if (cached.getUpdatedAt() == null) {
+            return false;
+        }
+        String sql = "SELECT updated_at FROM contacts WHERE contact_id = ?";
+        try {
+            Timestamp updatedAt = JdbcExecutor.queryOne(sql, ps -> ps.setInt(1, cached.getContactId()),
+                    rs -> rs.getTimestamp(1));
+            return updatedAt != null && updatedAt.toLocalDateTime().equals(cached.getUpdatedAt());
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
-        return null;
     }
 
     /**
@@ -76,37 +299,32 @@ public class ContactDAO {
      */
     public boolean insertContact(Contact contact) {
         String sql = "INSERT INTO contacts " +
-                "(first_name, last_name, nickname, phone_number, email, linkedin_url, birth_date) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+                "(first_name, last_name, nickname, phone_number, email, linkedin_url, birth_date, " +
+                "first_name_key, last_name_key) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql, java.sql.Statement.RETURN_GENERATED_KEYS);
-            String firstName = normalizeName(contact.getFirstName());
-            String lastName = normalizeName(contact.getLastName());
-
-            ps.setString(1, firstName);
-            ps.setString(2, lastName);
-            ps.setString(3, contact.getNickname());
-            ps.setString(4, contact.getPhoneNumber());
-            ps.setString(5, contact.getEmail());
-            ps.setString(6, contact.getLinkedinUrl());
-
-            if (contact.getBirthDate() != null) {
-                ps.setDate(7, Date.valueOf(contact.getBirthDate()));
-            } else {
-                ps.setNull(7, Types.DATE);
-            }
-
-            int affected = ps.executeUpdate();
-            if (affected == 0) {
+            int key = JdbcExecutor.insertReturningKey(sql, ps -> {
+                String firstName = normalizeName(contact.getFirstName());
+                String lastName = normalizeName(contact.getLastName());
+
+                ps.setString(1, firstName);
+                ps.setString(2, lastName);
+                ps.setString(3, contact.getNickname());
+                ps.setString(4, contact.getPhoneNumber());
+                ps.setString(5, contact.getEmail());
+                ps.setString(6, contact.getLinkedinUrl());
+                setBirthDate(ps, 7, contact.getBirthDate());
+                ps.setString(8, SearchKeys.fold(firstName));
+                ps.setString(9, SearchKeys.fold(lastName));
+            });
+
+            if (key < 0) {
                 return false;
             }
-
-            try (ResultSet keys = ps.getGeneratedKeys()) {
-                if (keys.next()) {
-                    contact.setContactId(keys.getInt(1));
-                }
+            if (key > 0) {
+                contact.setContactId(key);
+                notifySaved(storedCopy(contact, true));
             }
 
             return true;
@@ -117,6 +335,65 @@ public class ContactDAO {
         }
     }
 
+    /**
+     * Inserts many contacts with batched multi-row INSERTs, committing every
+     * -Ddb.insertBatchSize rows (default 1000) as one transaction.
+     * Generated IDs are set on the contacts, and write listeners are notified per contact.
+     * If a chunk fails it is rolled back and the insert stops; earlier chunks stay committed.
+     * @param contacts the contacts to insert
+     * @param listener receives progress after every chunk, may be null
+     * @return number of contacts inserted
+     */
+    public int insertContacts(Iterable<Contact> contacts, BulkInsertListener listener) {
+        String sql = "INSERT INTO contacts " +
+                "(first_name, last_name, nickname, phone_number, email, linkedin_url, birth_date, " +
+                "first_name_key, last_name_key) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        long start = System.nanoTime();
+        int inserted = 0;
+        List<Contact> chunk = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (Iterator<Contact> it = contacts.iterator(); it.hasNext(); ) {
+            chunk.add(it.next());
+            if (chunk.size() < INSERT_BATCH_SIZE && it.hasNext()) {
+                continue;
+            }
+            try {
+                int[] keys = JdbcExecutor.batchInsertReturningKeys(sql, chunk, (ps, contact) -> {
+                    String firstName = normalizeName(contact.getFirstName());
+                    String lastName = normalizeName(contact.getLastName());
+
+                    ps.setString(1, firstName);
+                    ps.setString(2, lastName);
+                    ps.setString(3, contact.getNickname());
+                    ps.setString(4, contact.getPhoneNumber());
+                    ps.setString(5, contact.getEmail());
+                    ps.setString(6, contact.getLinkedinUrl());
+                    setBirthDate(ps, 7, contact.getBirthDate());
+                    ps.setString(8, SearchKeys.fold(firstName));
+                    ps.setString(9, SearchKeys.fold(lastName));
+                });
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (keys[i] > 0) {
+                        Contact contact = chunk.get(i);
+                        contact.setContactId(keys[i]);
+                        notifySaved(storedCopy(contact, true));
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return inserted;
+            }
+            inserted += chunk.size();
+            chunk.clear();
+            if (listener != null) {
+                double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+                listener.chunkCommitted(inserted, seconds > 0 ? inserted / seconds : 0.0);
+            }
+        }
+        return inserted;
+    }
+
     /**
      * Updates an existing contact record in the database.
      * @param contact the Contact object with updated information
@@ -130,32 +407,30 @@ public class ContactDAO {
                 "phone_number = ?, " +
                 "email = ?, " +
                 "linkedin_url = ?, " +
-                "birth_date = ? " +
+                "birth_date = ?, " +
+                "first_name_key = ?, " +
+                "last_name_key = ? " +
                 "WHERE contact_id = ?";
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-
-            String firstName = normalizeName(contact.getFirstName());
-            String lastName = normalizeName(contact.getLastName());
-
-            ps.setString(1, firstName);
-            ps.setString(2, lastName);
-            ps.setString(3, contact.getNickname());
-            ps.setString(4, contact.getPhoneNumber());
-            ps.setString(5, contact.getEmail());
-            ps.setString(6, contact.getLinkedinUrl());
-
-            if (contact.getBirthDate() != null) {
-                ps.setDate(7, Date.valueOf(contact.getBirthDate()));
-            } else {
-                ps.setNull(7, Types.DATE);
+            int affected = JdbcExecutor.update(sql, ps -> {
+                String firstName = normalizeName(contact.getFirstName());
+                String lastName = normalizeName(contact.getLastName());
+
+                ps.setString(1, firstName);
+                ps.setString(2, lastName);
+                ps.setString(3, contact.getNickname());
+                ps.setString(4, contact.getPhoneNumber());
+                ps.setString(5, contact.getEmail());
+                ps.setString(6, contact.getLinkedinUrl());
+                setBirthDate(ps, 7, contact.getBirthDate());
+                ps.setString(8, SearchKeys.fold(firstName));
+                ps.setString(9, SearchKeys.fold(lastName));
+                ps.setInt(10, contact.getContactId());
+            });
+            if (affected > 0) {
+                notifySaved(storedCopy(contact, true));
             }
-
-            ps.setInt(8, contact.getContactId());
-
-            int affected = ps.executeUpdate();
             return affected > 0;
 
         } catch (SQLException e) {
@@ -189,6 +464,34 @@ public class ContactDAO {
         return firstChar + rest;
     }
 
+    /**
+     * Copies a contact as it was written to the table, for the write listeners.
+     * created_at and updated_at are left null: the database sets them, and the values on the
+     * caller's object are either missing (insert) or from before the write (update).
+     * @param contact the contact passed to the write method
+     * @param normalizedNames true if the write normalized first and last name
+     * @return new Contact holding the stored values
+     */
+    private Contact storedCopy(Contact contact, boolean normalizedNames) {
+        return new Contact(contact.getContactId(),
+                normalizedNames ? normalizeName(contact.getFirstName()) : contact.getFirstName(),
+                normalizedNames ? normalizeName(contact.getLastName()) : contact.getLastName(),
+                contact.getNickname(),
+                contact.getPhoneNumber(),
+                contact.getEmail(),
+                contact.getLinkedinUrl(),
+                contact.getBirthDate(),
+                null,
+                null);
+    }
+
+    private void notifySaved(Contact stored) {
+        TABLE_VERSION.incrementAndGet();
+        for (ContactWriteListener listener : WRITE_LISTENERS) {
+            listener.contactSaved(stored);
+        }
+    }
+
     /**
      * Deletes a contact from the database by its ID.
      * @param id the contact ID to delete
@@ -197,11 +500,13 @@ public class ContactDAO {
     public boolean deleteContact(int id) {
         String sql = "DELETE FROM contacts WHERE contact_id = ?";
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setInt(1, id);
-
-            int affected = ps.executeUpdate();
+            int affected = JdbcExecutor.update(sql, ps -> ps.setInt(1, id));
+            if (affected > 0) {
+                TABLE_VERSION.incrementAndGet();
+                for (ContactWriteListener listener : WRITE_LISTENERS) {
+                    listener.contactDeleted(id);
+                }
+            }
             return affected > 0;
 
         } catch (SQLException e) {
@@ -223,28 +528,26 @@ public class ContactDAO {
         }
 
         String sql = "INSERT INTO contacts " +
-                "(contact_id, first_name, last_name, nickname, phone_number, email, linkedin_url, birth_date) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+                "(contact_id, first_name, last_name, nickname, phone_number, email, linkedin_url, birth_date, " +
+                "first_name_key, last_name_key) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-
-            ps.setInt(1, contact.getContactId());
-            ps.setString(2, contact.getFirstName());
-            ps.setString(3, contact.getLastName());
-            ps.setString(4, contact.getNickname());
-            ps.setString(5, contact.getPhoneNumber());
-            ps.setString(6, contact.getEmail());
-            ps.setString(7, contact.getLinkedinUrl());
-
-            if (contact.getBirthDate() != null) {
-                ps.setDate(8, Date.valueOf(contact.getBirthDate()));
-            } else {
-                ps.setNull(8, Types.DATE);
+            int affected = JdbcExecutor.update(sql, ps -> {
+                ps.setInt(1, contact.getContactId());
+                ps.setString(2, contact.getFirstName());
+                ps.setString(3, contact.getLastName());
+                ps.setString(4, contact.getNickname());
+                ps.setString(5, contact.getPhoneNumber());
+                ps.setString(6, contact.getEmail());
+                ps.setString(7, contact.getLinkedinUrl());
+                setBirthDate(ps, 8, contact.getBirthDate());
+                ps.setString(9, SearchKeys.fold(contact.getFirstName()));
+                ps.setString(10, SearchKeys.fold(contact.getLastName()));
+            });
+            if (affected > 0) {
+                notifySaved(storedCopy(contact, false));
             }
-
-            int affected = ps.executeUpdate();
             return affected > 0;
 
         } catch (SQLException e) {
@@ -254,20 +557,57 @@ public class ContactDAO {
     }
 
 
+    /**
+     * Fills first_name_key and last_name_key for rows written before migration V4
+     * (or by other tools), in batches of ID_BATCH_SIZE rows.
+     * @return number of rows updated
+     */
+    public int backfillSearchKeys() {
+        String select = "SELECT contact_id, first_name, last_name FROM contacts " +
+                "WHERE first_name_key IS NULL OR last_name_key IS NULL ORDER BY contact_id LIMIT ?";
+        String update = "UPDATE contacts SET first_name_key = ?, last_name_key = ? WHERE contact_id = ?";
+        int total = 0;
+        try {
+            while (true) {
+                List<Contact> batch = JdbcExecutor.queryList(select, ps -> ps.setInt(1, ID_BATCH_SIZE), rs -> {
+                    Contact c = new Contact();
+                    c.setContactId(rs.getInt(1));
+                    c.setFirstName(rs.getString(2));
+                    c.setLastName(rs.getString(3));
+                    return c;
+                });
+                if (batch.isEmpty()) {
+                    break;
+                }
+                JdbcExecutor.batch(update, batch, (ps, c) -> {
+                    ps.setString(1, SearchKeys.fold(c.getFirstName()));
+                    ps.setString(2, SearchKeys.fold(c.getLastName()));
+                    ps.setInt(3, c.getContactId());
+                });
+                total += batch.size();
+                TABLE_VERSION.incrementAndGet();
+                if (batch.size() < ID_BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return total;
+    }
+
     /**
      * Searches contacts by first name and last name using LIKE pattern matching.
-     * Supports Turkish character case-insensitive search.
+     * Supports Turkish character case-insensitive search through the folded name keys.
      * @param query the search string (partial match supported)
      * @return List of matching contacts
      */
     public List<Contact> searchByFirstName(String query) {
-        String sql = "SELECT * FROM contacts WHERE first_name LIKE ? COLLATE utf8mb4_unicode_ci";
-        return searchListWithSingleLike(sql, query);
+        return findContacts(ContactFilter.firstNameContains(query));
     }
 
     public List<Contact> searchByLastName(String query) {
-        String sql = "SELECT * FROM contacts WHERE last_name LIKE ? COLLATE utf8mb4_unicode_ci";
-        return searchListWithSingleLike(sql, query);
+        return findContacts(ContactFilter.lastNameContains(query));
     }
 
     /**
@@ -276,8 +616,7 @@ public class ContactDAO {
      * @return List of matching contacts
      */
     public List<Contact> searchByPhoneContains(String digits) {
-        String sql = "SELECT * FROM contacts WHERE phone_number LIKE ?";
-        return searchListWithSingleLike(sql, digits);
+        return findContacts(ContactFilter.phoneContains(digits));
     }
 
     /**
@@ -286,50 +625,20 @@ public class ContactDAO {
      * @return List of matching contacts
      */
     public List<Contact> searchByBirthMonth(int month) {
-        List<Contact> results = new ArrayList<>();
-        String sql = "SELECT * FROM contacts WHERE birth_date IS NOT NULL AND MONTH(birth_date) = ?";
-
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setInt(1, month);
-
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                results.add(mapResultSetToContact(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return results;
+        return findContacts(ContactFilter.birthMonth(month));
     }
 
+
     /**
      * Searches contacts by birth year only.
      * @param year the birth year
      * @return List of matching contacts
      */
     public List<Contact> searchByBirthYear(int year) {
-        List<Contact> results = new ArrayList<>();
-        String sql = "SELECT * FROM contacts WHERE birth_date IS NOT NULL AND YEAR(birth_date) = ?";
-
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setInt(1, year);
-
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                results.add(mapResultSetToContact(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return results;
+        return findContacts(ContactFilter.birthYear(year));
     }
 
+
     /**
      * Searches contacts by first name and birth month.
      * Matches first_name LIKE pattern AND birth month equals specified month.
@@ -338,28 +647,10 @@ public class ContactDAO {
      * @return List of matching contacts
      */
     public List<Contact> searchByFirstNameAndBirthMonth(String namePart, int month) {
-        List<Contact> results = new ArrayList<>();
-        String sql = "SELECT * FROM contacts " +
-                "WHERE first_name LIKE ? COLLATE utf8mb4_unicode_ci AND birth_date IS NOT NULL " +
-                "AND MONTH(birth_date) = ?";
-
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, "%" + namePart + "%");
-            ps.setInt(2, month);
-
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                results.add(mapResultSetToContact(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return results;
+        return findContacts(ContactFilter.firstNameContainsAndBirthMonth(namePart, month));
     }
 
+
     /**
      * Searches contacts by phone prefix and birth year.
      * Matches phone_number starting with given prefix and birth year equals specified year.
@@ -368,51 +659,19 @@ public class ContactDAO {
      * @return List of matching contacts
      */
     public List<Contact> searchByPhonePrefixAndBirthYear(String phonePrefix, int year) {
-        List<Contact> results = new ArrayList<>();
-        String sql = "SELECT * FROM contacts WHERE phone_number LIKE ? AND YEAR(birth_date) = ?";
-
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, phonePrefix + "%");
-            ps.setInt(2, year);
-
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                results.add(mapResultSetToContact(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return results;
+        return findContacts(ContactFilter.phonePrefixAndBirthYear(phonePrefix, year));
     }
 
+
     /**
      * Telefon ve email substring’ine göre arama yapar.
      * phone_number LIKE %phonePart% AND email LIKE %emailPart%.
      */
     public List<Contact> searchByPhoneAndEmailContains(String phonePart, String emailPart) {
-        List<Contact> results = new ArrayList<>();
-        String sql = "SELECT * FROM contacts " +
-                "WHERE phone_number LIKE ? AND email LIKE ? COLLATE utf8mb4_unicode_ci";
-
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, "%" + phonePart + "%");
-            ps.setString(2, "%" + emailPart + "%");
-
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                results.add(mapResultSetToContact(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return results;
+        return findContacts(ContactFilter.phoneAndEmailContains(phonePart, emailPart));
     }
 
+
     /**
      * Searches contacts by both first name and last name using LIKE pattern matching.
      * @param firstPart the first name substring to search for
@@ -420,25 +679,234 @@ public class ContactDAO {
      * @return List of matching contacts
      */
     public List<Contact> searchByFirstAndLastName(String firstPart, String lastPart) {
-        List<Contact> results = new ArrayList<>();
-        String sql = "SELECT * FROM contacts " +
-                "WHERE first_name LIKE ? COLLATE utf8mb4_unicode_ci AND last_name LIKE ? COLLATE utf8mb4_unicode_ci";
+        return findContacts(ContactFilter.firstAndLastNameContains(firstPart, lastPart));
+    }
+
 
+    /**
+     * Returns all contacts matching the given filter, with the columns of {@link ContactProjection#LIST}.
+     * @param filter the search condition
+     * @return List of matching contacts
+     */
+    public List<Contact> findContacts(ContactFilter filter) {
+        return findContacts(filter, ContactProjection.LIST);
+    }
+
+    /**
+     * Returns all contacts matching the given filter.
+     * Search results are cached as ID lists in {@link SearchResultCache} until the next write;
+     * the contacts of a cached or ID filter result are taken from {@link ContactCache} where possible,
+     * and may then carry more columns than the projection asks for.
+     * @param filter the search condition
+     * @param projection the columns to read
+     * @return List of matching contacts
+     */
+    public List<Contact> findContacts(ContactFilter filter, ContactProjection projection) {
+        int[] ids = filter.getIds();
+        if (ids != null) {
+            return contactsByIds(ids, projection);
+        }
+        if (filter.isEmpty()) {
+            String sql = "SELECT " + projection.getSelectList() + " FROM contacts";
+            return queryContacts(sql, JdbcExecutor.NO_PARAMS, projection);
+        }
+
+        long version = TABLE_VERSION.get();
+        int[] cachedIds = SEARCH_CACHE.get(filter, version);
+        if (cachedIds != null) {
+            return contactsByIds(cachedIds, projection);
+        }
+
+        String sql = "SELECT " + projection.getSelectList() + " FROM contacts WHERE " + filter.getCondition()
+                + " ORDER BY contact_id";
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, "%" + firstPart + "%");
-            ps.setString(2, "%" + lastPart + "%");
-
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                results.add(mapResultSetToContact(rs));
-            }
+            List<Contact> contacts = JdbcExecutor.queryList(sql, ps -> filter.bind(ps, 1), rowMapper(projection));
+            SEARCH_CACHE.put(filter, version, contacts.stream().mapToInt(Contact::getContactId).toArray());
+            return contacts;
         } catch (SQLException e) {
             e.printStackTrace();
+            return new ArrayList<>();
         }
+    }
 
-        return results;
+    /**
+     * Returns the contacts with the given IDs, in the given order.
+     * Contacts in {@link ContactCache} are used as they are; the rest are read in batches of
+     * ID_BATCH_SIZE with every column, which caches them for next time. With the cache disabled
+     * or validating, every contact is read with the requested projection instead.
+     */
+    private List<Contact> contactsByIds(int[] ids, ContactProjection projection) {
+        boolean useCache = CONTACT_CACHE.getMaxBytes() > 0 && !CONTACT_CACHE.isValidating();
+        ContactProjection readProjection = useCache ? ContactProjection.FULL : projection;
+        Map<Integer, Contact> found = new HashMap<>();
+        int[] missing = new int[ids.length];
+        int missingCount = 0;
+        for (int id : ids) {
+            Contact cached = useCache ? CONTACT_CACHE.get(id) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing[missingCount++] = id;
+            }
+        }
+
+        int[] toRead = Arrays.copyOf(missing, missingCount);
+        Arrays.sort(toRead);
+        for (int from = 0; from < toRead.length; from += ID_BATCH_SIZE) {
+            ContactFilter batch = ContactFilter.idIn(Arrays.copyOfRange(toRead, from,
+                    Math.min(from + ID_BATCH_SIZE, toRead.length)));
+            String sql = "SELECT " + readProjection.getSelectList() + " FROM contacts WHERE " + batch.getCondition();
+            for (Contact contact : queryContacts(sql, ps -> batch.bind(ps, 1), readProjection)) {
+                found.put(contact.getContactId(), contact);
+            }
+        }
+
+        List<Contact> contacts = new ArrayList<>(found.size());
+        for (int id : ids) {
+            Contact contact = found.get(id);
+            if (contact != null) {
+                contacts.add(contact);
+            }
+        }
+        return contacts;
+    }
+
+    /**
+     * Creates a pager over the contacts matching the filter, ordered by (sortKey, contact_id).
+     * Call {@link ContactPager#first()} to load the first page.
+     * @param filter the search condition
+     * @param sortKey the sort column
+     * @param ascending true for ascending order, false for descending
+     * @param pageSize maximum number of contacts per page
+     * @return a new pager
+     */
+    public ContactPager pager(ContactFilter filter, ContactSortKey sortKey, boolean ascending, int pageSize) {
+        return pager(filter, sortKey, ascending, pageSize, ContactProjection.LIST);
+    }
+
+    /**
+     * Creates a pager that reads its pages with the given projection.
+     * Pages read with {@link ContactProjection#FULL}, e.g. to pick a contact to edit or delete,
+     * put their rows into {@link ContactCache}, so the following {@link #getContactById(int)} is a hit.
+     * @see #pager(ContactFilter, ContactSortKey, boolean, int)
+     */
+    public ContactPager pager(ContactFilter filter, ContactSortKey sortKey, boolean ascending, int pageSize,
+                              ContactProjection projection) {
+        return new ContactPager(this, filter, sortKey, ascending, pageSize, projection);
+    }
+
+    /**
+     * Reads one page using keyset (seek) pagination on (sort column, contact_id).
+     * Instead of OFFSET, the query continues strictly after the boundary row, so the
+     * database never reads and discards the rows of earlier pages.
+     * NULL values (birth_date only) sort before every other value, as in MySQL.
+     * @param filter the search condition
+     * @param sortKey the sort column
+     * @param ascending direction to read in; the pager passes the reverse order to page backwards
+     * @param after the last row already shown in this direction, or null to start at the beginning
+     * @param limit maximum number of rows to return
+     * @param projection the columns to read; FULL rows are also cached
+     * @return contacts following the boundary row, in the requested order
+     */
+    public List<Contact> findPage(ContactFilter filter, ContactSortKey sortKey, boolean ascending,
+                                  Contact after, int limit, ContactProjection projection) {
+        // An ID set is already in page order: bind only the IDs this page can contain
+        ContactFilter pageFilter = filter.getIds() != null && sortKey == ContactSortKey.ID
+                ? filter.withIds(idWindow(filter.getIds(), ascending, after, limit))
+                : filter;
+
+        String column = sortKey.getColumn();
+        String direction = ascending ? "ASC" : "DESC";
+        Object afterValue = after != null ? sortKey.valueOf(after) : null;
+
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(projection.getSelectList())
+                .append(" FROM contacts");
+        String seek = after != null ? buildSeekCondition(sortKey, ascending, afterValue) : "";
+        if (!pageFilter.isEmpty() || !seek.isEmpty()) {
+            sql.append(" WHERE ");
+            if (!pageFilter.isEmpty()) {
+                sql.append('(').append(pageFilter.getCondition()).append(')');
+                if (!seek.isEmpty()) {
+                    sql.append(" AND ");
+                }
+            }
+            sql.append(seek);
+        }
+        sql.append(" ORDER BY ").append(column).append(' ').append(direction);
+        if (sortKey != ContactSortKey.ID) {
+            sql.append(", contact_id ").append(direction);
+        }
+        sql.append(" LIMIT ?");
+
+        return queryContacts(sql.toString(), ps -> {
+            int index = pageFilter.bind(ps, 1);
+            if (after != null) {
+                index = bindSeekParameters(ps, index, sortKey, afterValue, after.getContactId());
+            }
+            ps.setInt(index, limit);
+        }, projection);
+    }
+
+    /**
+     * Returns the first limit IDs of a sorted ID set that follow the boundary row in the given direction.
+     */
+    private int[] idWindow(int[] sortedIds, boolean ascending, Contact after, int limit) {
+        if (ascending) {
+            int from = 0;
+            if (after != null) {
+                int pos = Arrays.binarySearch(sortedIds, after.getContactId());
+                from = pos >= 0 ? pos + 1 : -pos - 1;
+            }
+            return Arrays.copyOfRange(sortedIds, from, Math.min(from + limit, sortedIds.length));
+        }
+        int to = sortedIds.length;
+        if (after != null) {
+            int pos = Arrays.binarySearch(sortedIds, after.getContactId());
+            to = pos >= 0 ? pos : -pos - 1;
+        }
+        return Arrays.copyOfRange(sortedIds, Math.max(0, to - limit), to);
+    }
+
+    /**
+     * Builds the condition selecting rows strictly after (value, id) in the given order.
+     * @param sortKey the sort column
+     * @param ascending the read direction
+     * @param value the sort column value of the boundary row
+     * @return SQL condition with its placeholders
+     */
+    private String buildSeekCondition(ContactSortKey sortKey, boolean ascending, Object value) {
+        String column = sortKey.getColumn();
+        String op = ascending ? ">" : "<";
+
+        if (sortKey == ContactSortKey.ID) {
+            return "contact_id " + op + " ?";
+        }
+        if (value == null) {
+            // Boundary is NULL: remaining NULLs by id, then (ascending only) every non-NULL value
+            return ascending
+                    ? "((" + column + " IS NULL AND contact_id > ?) OR " + column + " IS NOT NULL)"
+                    : "(" + column + " IS NULL AND contact_id < ?)";
+        }
+        String condition = "(" + column + " " + op + " ? OR (" + column + " = ? AND contact_id " + op + " ?)";
+        if (sortKey.isNullable() && !ascending) {
+            condition += " OR " + column + " IS NULL";
+        }
+        return condition + ")";
+    }
+
+    /**
+     * Binds the placeholders of {@link #buildSeekCondition(ContactSortKey, boolean, Object)}.
+     * @return the next free parameter index
+     */
+    private int bindSeekParameters(PreparedStatement ps, int index, ContactSortKey sortKey,
+                                   Object value, int contactId) throws SQLException {
+        if (sortKey != ContactSortKey.ID && value != null) {
+            ps.setObject(index++, value);
+            ps.setObject(index++, value);
+        }
+        ps.setInt(index++, contactId);
+        return index;
     }
 
     /**
@@ -449,9 +917,19 @@ public class ContactDAO {
      * @return List of contacts sorted by the specified field
      */
     public List<Contact> getAllSorted(String sortField, boolean ascending) {
-        
+        return queryContacts(buildSortedQuery(sortField, ascending), JdbcExecutor.NO_PARAMS,
+                ContactProjection.LIST);
+    }
+
+    /**
+     * Builds the ORDER BY query for the given sort field.
+     * @param sortField the field name to sort by
+     * @param ascending true for ascending order, false for descending
+     * @return SQL query string
+     */
+    private String buildSortedQuery(String sortField, boolean ascending) {
         if (sortField.equals("age") || sortField.equals("Age")) {
-            return getAllSortedByAge(ascending);
+            return buildSortedByAgeQuery(ascending);
         }
 
         String column;
@@ -481,52 +959,22 @@ public class ContactDAO {
         }
 
         String direction = ascending ? "ASC" : "DESC";
-        String sql = "SELECT * FROM contacts ORDER BY " + column + " " + direction;
-
-        List<Contact> contacts = new ArrayList<>();
-
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                contacts.add(mapResultSetToContact(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return contacts;
+        return "SELECT " + ContactProjection.LIST.getSelectList() + " FROM contacts ORDER BY "
+                + column + " " + direction;
     }
 
     /**
-     * Returns all contacts sorted by age (calculated from birth_date).
+     * Builds the query returning all contacts sorted by age (calculated from birth_date).
      * Contacts without birth_date are placed at the end of the list.
      * @param ascending true for youngest first, false for oldest first
-     * @return List of contacts sorted by age
+     * @return SQL query string
      */
-    private List<Contact> getAllSortedByAge(boolean ascending) {
-        List<Contact> contacts = new ArrayList<>();
+    private String buildSortedByAgeQuery(boolean ascending) {
         String direction = ascending ? "DESC" : "ASC";
-        String sql = "SELECT * FROM contacts " +
+        return "SELECT " + ContactProjection.LIST.getSelectList() + " FROM contacts " +
                 "ORDER BY " +
                 "CASE WHEN birth_date IS NULL THEN 1 ELSE 0 END, " + // NULLs go to end
                 "birth_date " + direction;
-
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                contacts.add(mapResultSetToContact(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-
-        return contacts;
     }
 
     /**
@@ -539,11 +987,9 @@ public class ContactDAO {
                 "FROM contacts WHERE birth_date IS NOT NULL";
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return rs.getDouble("avg_age");
+            Double avg = JdbcExecutor.queryOne(sql, JdbcExecutor.NO_PARAMS, rs -> rs.getDouble("avg_age"));
+            if (avg != null) {
+                return avg;
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -556,37 +1002,17 @@ public class ContactDAO {
      * @return youngest Contact object, null if no contacts with birth date found
      */
     public Contact getYoungestContact() {
-        String sql = "SELECT * FROM contacts " +
+        String sql = "SELECT " + ContactProjection.SUMMARY.getSelectList() + " FROM contacts " +
                 "WHERE birth_date IS NOT NULL " +
                 "ORDER BY birth_date DESC LIMIT 1";
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return mapResultSetToContact(rs);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return queryContact(sql, JdbcExecutor.NO_PARAMS, ContactProjection.SUMMARY);
     }
 
     public Contact getOldestContact() {
-        String sql = "SELECT * FROM contacts " +
+        String sql = "SELECT " + ContactProjection.SUMMARY.getSelectList() + " FROM contacts " +
                 "WHERE birth_date IS NOT NULL " +
                 "ORDER BY birth_date ASC LIMIT 1";
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return mapResultSetToContact(rs);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return queryContact(sql, JdbcExecutor.NO_PARAMS, ContactProjection.SUMMARY);
     }
 
     /**
@@ -596,55 +1022,25 @@ public class ContactDAO {
     public int countWithLinkedin() {
         String sql = "SELECT COUNT(*) AS cnt FROM contacts " +
                 "WHERE linkedin_url IS NOT NULL AND linkedin_url <> ''";
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return rs.getInt("cnt");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return 0;
+        return queryCount(sql, JdbcExecutor.NO_PARAMS);
     }
 
     public int countWithoutLinkedin() {
         String sql = "SELECT COUNT(*) AS cnt FROM contacts " +
                 "WHERE linkedin_url IS NULL OR linkedin_url = ''";
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return rs.getInt("cnt");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return 0;
+        return queryCount(sql, JdbcExecutor.NO_PARAMS);
     }
 
     /**
      * Returns the count of contacts with the specified first name.
-     * (case-sensitive)
+     * (case and accent insensitive, compared on first_name_key)
      * @param firstName the first name to count
      * @return number of contacts with the given first name
      */
     public int countByFirstName(String firstName) {
-        String sql = "SELECT COUNT(*) AS cnt FROM contacts WHERE first_name = ?";
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, firstName);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return rs.getInt("cnt");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return 0;
+        ContactFilter filter = ContactFilter.firstNameEquals(firstName);
+        String sql = "SELECT COUNT(*) AS cnt FROM contacts WHERE " + filter.getCondition();
+        return queryCount(sql, ps -> filter.bind(ps, 1));
     }
 
     /**
@@ -657,37 +1053,40 @@ public class ContactDAO {
         Map<String, Integer> nameCounts = new LinkedHashMap<>();
         String sql = "SELECT first_name, COUNT(*) AS cnt FROM contacts GROUP BY first_name ORDER BY cnt DESC, first_name ASC";
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
+            JdbcExecutor.forEachRow(sql, JdbcExecutor.NO_PARAMS, rs -> {
                 String firstName = rs.getString("first_name");
                 int count = rs.getInt("cnt");
                 nameCounts.put(firstName, count);
-            }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return nameCounts;
     }
 
+    /**
+     * Counts the contacts matching a filter. ID filters are counted without a query.
+     * @param filter the search condition
+     * @return number of matching contacts, 0 on error
+     */
+    public int countContacts(ContactFilter filter) {
+        if (filter.getIds() != null) {
+            return filter.getIds().length;
+        }
+        if (filter.isEmpty()) {
+            return getTotalContactCount();
+        }
+        String sql = "SELECT COUNT(*) AS cnt FROM contacts WHERE " + filter.getCondition();
+        return queryCount(sql, ps -> filter.bind(ps, 1));
+    }
+
     /**
      * Returns the total number of contacts in the database.
      * @return total contact count
      */
     public int getTotalContactCount() {
         String sql = "SELECT COUNT(*) AS cnt FROM contacts";
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return rs.getInt("cnt");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return 0;
+        return queryCount(sql, JdbcExecutor.NO_PARAMS);
     }
 
     /**
@@ -697,119 +1096,266 @@ public class ContactDAO {
      */
     public Map<String, Integer> getBirthMonthDistribution() {
         Map<String, Integer> monthCounts = new LinkedHashMap<>();
-        String sql = "SELECT MONTH(birth_date) AS month_num, COUNT(*) AS cnt " +
-                "FROM contacts WHERE birth_date IS NOT NULL " +
-                "GROUP BY MONTH(birth_date) ORDER BY cnt DESC, month_num ASC";
+        String sql = "SELECT birth_month AS month_num, COUNT(*) AS cnt " +
+                "FROM contacts WHERE birth_month IS NOT NULL " +
+                "GROUP BY birth_month ORDER BY cnt DESC, month_num ASC";
 
         String[] monthNames = { "", "January", "February", "March", "April", "May", "June",
                 "July", "August", "September", "October", "November", "December" };
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
+            JdbcExecutor.forEachRow(sql, JdbcExecutor.NO_PARAMS, rs -> {
                 int monthNum = rs.getInt("month_num");
                 int count = rs.getInt("cnt");
                 if (monthNum >= 1 && monthNum <= 12) {
                     monthCounts.put(monthNames[monthNum], count);
                 }
-            }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return monthCounts;
     }
 
+    /**
+     * Computes every figure of the statistics screen with one grouped query.
+     * The table is scanned once; rows are grouped by first name, which gives the
+     * name frequencies directly, and each group carries conditional sums for the
+     * LinkedIn, birth month and age group counts plus its youngest and oldest member.
+     * The groups are then combined in Java.
+     * @return the statistics snapshot, or null on error
+     */
+    public ContactStatsSnapshot getStatsSnapshot() {
+        StringBuilder sql = new StringBuilder("SELECT first_name, COUNT(*) AS cnt, ")
+                .append("SUM(linkedin_url IS NOT NULL AND linkedin_url <> '') AS with_linkedin, ")
+                .append("COUNT(birth_date) AS with_birth_date, ")
+                .append("SUM(age) AS age_sum, ")
+                .append("MAX(birth_date) AS max_birth, ")
+                .append("MIN(birth_date) AS min_birth, ")
+                .append("SUBSTRING_INDEX(GROUP_CONCAT(last_name ORDER BY birth_date DESC SEPARATOR '\\n'), '\\n', 1) ")
+                .append("AS youngest_last, ")
+                .append("SUBSTRING_INDEX(GROUP_CONCAT(last_name ORDER BY birth_date IS NULL, birth_date ASC ")
+                .append("SEPARATOR '\\n'), '\\n', 1) AS oldest_last, ");
+        for (int month = 1; month <= 12; month++) {
+            sql.append("SUM(birth_month = ").append(month).append(") AS m").append(month).append(", ");
+        }
+        AgeGroups groups = AgeGroups.getConfigured();
+        for (int g = 0; g < groups.size(); g++) {
+            sql.append("SUM(age >= ").append(groups.minAge(g));
+            if (g < groups.size() - 1) {
+                sql.append(" AND age <= ").append(groups.maxAge(g));
+            }
+            sql.append(") AS g").append(g).append(", ");
+        }
+        sql.setLength(sql.length() - 2);
+        sql.append(" FROM (SELECT first_name, last_name, linkedin_url, birth_date, birth_month, ")
+                .append("TIMESTAMPDIFF(YEAR, birth_date, CURDATE()) AS age FROM contacts) c ")
+                .append("GROUP BY first_name ORDER BY cnt DESC, first_name ASC");
+
+        int[] totals = new int[3];
+        long[] ageSum = new long[1];
+        int[] monthCounts = new int[12];
+        int[] groupCounts = new int[groups.size()];
+        Contact[] youngestOldest = new Contact[2];
+        Map<String, Integer> nameCounts = new LinkedHashMap<>();
+
+        try {
+            JdbcExecutor.forEachRow(sql.toString(), JdbcExecutor.NO_PARAMS, rs -> {
+                String firstName = rs.getString("first_name");
+                int count = rs.getInt("cnt");
+                nameCounts.put(firstName, count);
+                totals[0] += count;
+                totals[1] += rs.getInt("with_linkedin");
+                totals[2] += rs.getInt("with_birth_date");
+                ageSum[0] += rs.getLong("age_sum");
+                for (int month = 1; month <= 12; month++) {
+                    monthCounts[month - 1] += rs.getInt("m" + month);
+                }
+                for (int g = 0; g < groupCounts.length; g++) {
+                    groupCounts[g] += rs.getInt("g" + g);
+                }
+
+                Date maxBirth = rs.getDate("max_birth");
+                if (maxBirth != null && (youngestOldest[0] == null
+                        || maxBirth.toLocalDate().isAfter(youngestOldest[0].getBirthDate()))) {
+                    youngestOldest[0] = statsContact(firstName, rs.getString("youngest_last"), maxBirth);
+                }
+                Date minBirth = rs.getDate("min_birth");
+                if (minBirth != null && (youngestOldest[1] == null
+                        || minBirth.toLocalDate().isBefore(youngestOldest[1].getBirthDate()))) {
+                    youngestOldest[1] = statsContact(firstName, rs.getString("oldest_last"), minBirth);
+                }
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        Map<String, Integer> ageGroups = ageGroupMap(groups, groupCounts);
+
+        double averageAge = totals[2] > 0 ? (double) ageSum[0] / totals[2] : 0.0;
+        return new ContactStatsSnapshot(totals[0], totals[1], totals[2], averageAge,
+                youngestOldest[0], youngestOldest[1], monthCounts, ageGroups, nameCounts, false,
+                LocalDateTime.now());
+    }
+
+    private Contact statsContact(String firstName, String lastName, Date birthDate) {
+        Contact c = new Contact();
+        c.setFirstName(firstName);
+        c.setLastName(lastName);
+        c.setBirthDate(birthDate.toLocalDate());
+        return c;
+    }
+
     /**
      * Returns a map showing the distribution of contacts by age groups.
      * Only considers contacts with valid birth date information.
+     * The groups are counted by the database in one grouped query over the birth date
+     * index; only one row per group is transferred.
      * @return LinkedHashMap with age group names as keys and counts as values,
      *         ordered by age group
      */
     public Map<String, Integer> getAgeGroupDistribution() {
-        Map<String, Integer> ageGroups = new LinkedHashMap<>();
-        ageGroups.put("0-18", 0);
-        ageGroups.put("19-30", 0);
-        ageGroups.put("31-50", 0);
-        ageGroups.put("50+", 0);
+        AgeGroups groups = AgeGroups.getConfigured();
+        int[] counts = new int[groups.size()];
 
-        String sql = "SELECT birth_date FROM contacts WHERE birth_date IS NOT NULL";
+        String sql = "SELECT " + ageGroupCase(groups, "age") + " AS age_group, COUNT(*) AS cnt "
+                + "FROM (SELECT TIMESTAMPDIFF(YEAR, birth_date, CURDATE()) AS age "
+                + "FROM contacts WHERE birth_date IS NOT NULL) c "
+                + "GROUP BY age_group";
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ResultSet rs = ps.executeQuery();
-
-            LocalDate today = LocalDate.now();
-            while (rs.next()) {
-                Date birthDate = rs.getDate("birth_date");
-                if (birthDate != null) {
-                    LocalDate birth = birthDate.toLocalDate();
-                    int age = Period.between(birth, today).getYears();
-
-                    if (age >= 0 && age <= 18) {
-                        ageGroups.put("0-18", ageGroups.get("0-18") + 1);
-                    } else if (age >= 19 && age <= 30) {
-                        ageGroups.put("19-30", ageGroups.get("19-30") + 1);
-                    } else if (age >= 31 && age <= 50) {
-                        ageGroups.put("31-50", ageGroups.get("31-50") + 1);
-                    } else if (age > 50) {
-                        ageGroups.put("50+", ageGroups.get("50+") + 1);
-                    }
+            JdbcExecutor.forEachRow(sql, JdbcExecutor.NO_PARAMS, rs -> {
+                int group = rs.getInt("age_group");
+                if (!rs.wasNull()) {
+                    counts[group] = rs.getInt("cnt");
                 }
-            }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
+        return ageGroupMap(groups, counts);
+    }
+
+    /**
+     * Builds a CASE expression mapping an age to its group index (NULL for negative ages).
+     * The bounds are validated integers, so they are inlined rather than bound.
+     */
+    private static String ageGroupCase(AgeGroups groups, String ageColumn) {
+        StringBuilder sql = new StringBuilder("CASE WHEN ").append(ageColumn).append(" < 0 THEN NULL");
+        for (int g = 0; g < groups.size() - 1; g++) {
+            sql.append(" WHEN ").append(ageColumn).append(" <= ").append(groups.maxAge(g)).append(" THEN ").append(g);
+        }
+        return sql.append(" ELSE ").append(groups.size() - 1).append(" END").toString();
+    }
+
+    private static Map<String, Integer> ageGroupMap(AgeGroups groups, int[] counts) {
+        Map<String, Integer> ageGroups = new LinkedHashMap<>();
+        for (int g = 0; g < groups.size(); g++) {
+            ageGroups.put(groups.getLabels().get(g), counts[g]);
+        }
         return ageGroups;
     }
 
     /**
-     * Helper method to execute a single LIKE search query.
-     * @param sql the SQL query with one LIKE parameter
-     * @param value the search value to match
-     * @return List of matching contacts
+     * Helper method to run a query returning contact rows.
+     * Errors are printed and an empty list is returned, like the other read methods.
+     * @param sql the SQL query selecting the projection's columns
+     * @param binder sets the query parameters
+     * @param projection maps the selected columns
+     * @return List of mapped contacts
      */
-    private List<Contact> searchListWithSingleLike(String sql, String value) {
-        List<Contact> results = new ArrayList<>();
+    private List<Contact> queryContacts(String sql, JdbcExecutor.StatementBinder binder,
+                                        ContactProjection projection) {
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            PreparedStatement ps = conn.prepareStatement(sql);
-            ps.setString(1, "%" + value + "%");
-            ResultSet rs = ps.executeQuery();
+            return JdbcExecutor.queryList(sql, binder, rowMapper(projection));
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
 
-            while (rs.next()) {
-                results.add(mapResultSetToContact(rs));
-            }
+    /**
+     * Helper method to stream contact rows through a forward-only cursor.
+     * Errors are printed and reported as -1, so callers can tell a short result from a failed read;
+     * rows delivered before the error have already been passed to the action.
+     * @param sql the SQL query selecting the projection's columns
+     * @param projection maps the selected columns
+     * @param action called for every mapped contact
+     * @return number of contacts delivered, or -1 on error
+     */
+    private int streamContacts(String sql, ContactProjection projection, Consumer<Contact> action) {
+        return streamContacts(sql, JdbcExecutor.NO_PARAMS, rowMapper(projection), action);
+    }
+
+    private int streamContacts(String sql, JdbcExecutor.StatementBinder binder,
+                               JdbcExecutor.RowMapper<Contact> mapper, Consumer<Contact> action) {
+        int[] count = { 0 };
+        try {
+            JdbcExecutor.stream(sql, binder, streamFetchSize, rs -> {
+                action.accept(mapper.map(rs));
+                count[0]++;
+            });
         } catch (SQLException e) {
             e.printStackTrace();
+            return -1;
         }
-        return results;
+        return count[0];
     }
 
     /**
-     * Maps a ResultSet row to a Contact object.
-     * @param rs the ResultSet containing contact data
-     * @return Contact object created from the ResultSet
-     * @throws SQLException if database access error occurs
+     * Helper method to run a query returning at most one contact row.
+     * @param sql the SQL query selecting the projection's columns
+     * @param binder sets the query parameters
+     * @param projection maps the selected columns
+     * @return the mapped contact, or null if not found or on error
      */
-    private Contact mapResultSetToContact(ResultSet rs) throws SQLException {
-        Contact c = new Contact();
-        c.setContactId(rs.getInt("contact_id"));
-        c.setFirstName(rs.getString("first_name"));
-        c.setLastName(rs.getString("last_name"));
-        c.setNickname(rs.getString("nickname"));
-        c.setPhoneNumber(rs.getString("phone_number"));
-        c.setEmail(rs.getString("email"));
-        c.setLinkedinUrl(rs.getString("linkedin_url"));
-
-        Date birth = rs.getDate("birth_date");
-        if (birth != null) {
-            c.setBirthDate(birth.toLocalDate());
-        } else {
-            c.setBirthDate(null);
+    private Contact queryContact(String sql, JdbcExecutor.StatementBinder binder, ContactProjection projection) {
+        try {
+            return JdbcExecutor.queryOne(sql, binder, rowMapper(projection));
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
         }
+    }
 
-        return c;
+    /**
+     * Maps rows with the projection; complete rows are also put into the contact cache.
+     */
+    private JdbcExecutor.RowMapper<Contact> rowMapper(ContactProjection projection) {
+        if (projection != ContactProjection.FULL) {
+            return projection::map;
+        }
+        return rs -> {
+            Contact contact = projection.map(rs);
+            CONTACT_CACHE.put(contact);
+            return contact;
+        };
+    }
+
+    /**
+     * Helper method to run a COUNT(*) AS cnt query.
+     * @param sql the SQL query
+     * @param binder sets the query parameters
+     * @return the count, 0 on error
+     */
+    private int queryCount(String sql, JdbcExecutor.StatementBinder binder) {
+        try {
+            Integer count = JdbcExecutor.queryOne(sql, binder, rs -> rs.getInt("cnt"));
+            return count != null ? count : 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Binds a nullable birth date parameter.
+     */
+    private void setBirthDate(PreparedStatement ps, int index, LocalDate birthDate) throws SQLException {
+        if (birthDate != null) {
+            ps.setDate(index, Date.valueOf(birthDate));
+        } else {
+            ps.setNull(index, Types.DATE);
+        }
     }
 }
@@ -0,0 +1,211 @@
+package dao;
+
+import util.SearchKeys;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable WHERE condition on the contacts table together with its parameters.
+ * Used by the list, search and paging queries in ContactDAO so every screen shares
+ * the same search predicates.
+ * Name conditions compare the binary-collated search keys (migration V4) with a query
+ * folded by {@link SearchKeys}, so the server does no collation work per row.
+ * Birth date conditions are written so they can use an index: month searches use the
+ * indexed birth_month generated column (migration V1), year searches a birth_date range.
+ */
+public final class ContactFilter {
+
+    private static final ContactFilter ALL = new ContactFilter("", Collections.emptyList());
+
+    /** SQL condition; null for an ID filter, whose condition is built when it is used. */
+    private final String condition;
+    private final List<Object> params;
+    private final int[] ids;
+
+    private ContactFilter(String condition, List<Object> params) {
+        this(condition, params, null);
+    }
+
+    private ContactFilter(String condition, List<Object> params, int[] ids) {
+        this.condition = condition;
+        this.params = params;
+        this.ids = ids;
+    }
+
+    private static ContactFilter of(String condition, Object... params) {
+        List<Object> list = new ArrayList<>();
+        Collections.addAll(list, params);
+        return new ContactFilter(condition, Collections.unmodifiableList(list));
+    }
+
+    /**
+     * @return filter matching every contact
+     */
+    public static ContactFilter all() {
+        return ALL;
+    }
+
+    public static ContactFilter firstNameContains(String query) {
+        return of("first_name_key LIKE ?", "%" + SearchKeys.foldForLike(query) + "%");
+    }
+
+    public static ContactFilter lastNameContains(String query) {
+        return of("last_name_key LIKE ?", "%" + SearchKeys.foldForLike(query) + "%");
+    }
+
+    public static ContactFilter firstNameStartsWith(String prefix) {
+        return of("first_name_key LIKE ?", SearchKeys.foldForLike(prefix) + "%");
+    }
+
+    public static ContactFilter lastNameStartsWith(String prefix) {
+        return of("last_name_key LIKE ?", SearchKeys.foldForLike(prefix) + "%");
+    }
+
+    public static ContactFilter firstNameEquals(String firstName) {
+        return of("first_name_key = ?", SearchKeys.fold(firstName));
+    }
+
+    public static ContactFilter phoneContains(String digits) {
+        return of("phone_number LIKE ?", "%" + digits + "%");
+    }
+
+    public static ContactFilter birthMonth(int month) {
+        return of("birth_month = ?", month);
+    }
+
+    public static ContactFilter birthYear(int year) {
+        return of("birth_date >= ? AND birth_date < ?", yearStart(year), yearStart(year + 1));
+    }
+
+    public static ContactFilter firstNameContainsAndBirthMonth(String namePart, int month) {
+        return of("first_name_key LIKE ? AND birth_month = ?", "%" + SearchKeys.foldForLike(namePart) + "%", month);
+    }
+
+    /**
+     * Matches the prefix with or without a leading trunk 0, like the phone trie of the search index,
+     * so "0553", "553" and "0 553" find both "0553..." and "553..." numbers.
+     */
+    public static ContactFilter phonePrefixAndBirthYear(String phonePrefix, int year) {
+        String digits = SearchKeys.phoneDigits(phonePrefix);
+        return of("(phone_number LIKE ? OR phone_number LIKE ?) AND birth_date >= ? AND birth_date < ?",
+                digits + "%", "0" + digits + "%", yearStart(year), yearStart(year + 1));
+    }
+
+    public static ContactFilter phoneAndEmailContains(String phonePart, String emailPart) {
+        return of("phone_number LIKE ? AND email LIKE ? COLLATE utf8mb4_unicode_ci",
+                "%" + phonePart + "%", "%" + emailPart + "%");
+    }
+
+    public static ContactFilter firstAndLastNameContains(String firstPart, String lastPart) {
+        return of("first_name_key LIKE ? AND last_name_key LIKE ?",
+                "%" + SearchKeys.foldForLike(firstPart) + "%", "%" + SearchKeys.foldForLike(lastPart) + "%");
+    }
+
+    /**
+     * Matches the given contact IDs, e.g. the result of an in-memory index lookup.
+     * Only the IDs are kept; the IN list is built when the filter is put into a query,
+     * which for large sets happens on windows of it (see {@link #withIds(int[])}).
+     * @param sortedIds contact IDs in ascending order
+     * @return filter on contact_id
+     */
+    public static ContactFilter idIn(int[] sortedIds) {
+        return new ContactFilter(null, Collections.emptyList(), sortedIds.clone());
+    }
+
+    /**
+     * @return the ID set of an {@link #idIn(int[])} filter, or null for other filters
+     */
+    int[] getIds() {
+        return ids;
+    }
+
+    /**
+     * @return an ID filter over a subset of this filter's IDs
+     */
+    ContactFilter withIds(int[] sortedIds) {
+        return idIn(sortedIds);
+    }
+
+    /**
+     * @return January 1st of the given year, the inclusive lower bound of a year range
+     */
+    private static Date yearStart(int year) {
+        return Date.valueOf(LocalDate.of(year, 1, 1));
+    }
+
+    /**
+     * @return true if this filter matches every contact
+     */
+    public boolean isEmpty() {
+        return ids == null && condition.isEmpty();
+    }
+
+    /**
+     * @return the SQL condition (without the WHERE keyword), empty for {@link #all()}
+     */
+    String getCondition() {
+        if (ids == null) {
+            return condition;
+        }
+        if (ids.length == 0) {
+            return "0 = 1";
+        }
+        StringBuilder sb = new StringBuilder(16 + 3 * ids.length).append("contact_id IN (?");
+        for (int i = 1; i < ids.length; i++) {
+            sb.append(", ?");
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * Binds this filter's parameters starting at the given index.
+     * @param ps the statement
+     * @param startIndex 1-based index of the first parameter
+     * @return the next free parameter index
+     * @throws SQLException if binding fails
+     */
+    int bind(PreparedStatement ps, int startIndex) throws SQLException {
+        int index = startIndex;
+        if (ids != null) {
+            for (int id : ids) {
+                ps.setInt(index++, id);
+            }
+            return index;
+        }
+        for (Object param : params) {
+            ps.setObject(index++, param);
+        }
+        return index;
+    }
+
+    /**
+     * Two filters are equal if they have the same condition and parameters, so a filter
+     * can key the search result cache.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ContactFilter)) {
+            return false;
+        }
+        ContactFilter other = (ContactFilter) o;
+        if (ids != null || other.ids != null) {
+            return Arrays.equals(ids, other.ids);
+        }
+        return condition.equals(other.condition) && params.equals(other.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return ids != null ? Arrays.hashCode(ids) : 31 * condition.hashCode() + params.hashCode();
+    }
+}
@@ -0,0 +1,127 @@
+package dao;
+
+import model.Contact;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps the position of a paged contact listing.
+ * Pages are read with keyset (seek) pagination: the next page starts after the last
+ * row of the current page, the previous page is read backwards from its first row.
+ * Each page costs the same regardless of how deep the user has navigated, and rows
+ * inserted or deleted meanwhile do not shift the page boundaries.
+ */
+public class ContactPager {
+
+    private final ContactDAO contactDAO;
+    private final ContactFilter filter;
+    private final ContactSortKey sortKey;
+    private final boolean ascending;
+    private final int pageSize;
+    private final ContactProjection projection;
+
+    private List<Contact> page = Collections.emptyList();
+    private int pageNumber;
+    private boolean hasNext;
+    private boolean hasPrevious;
+
+    ContactPager(ContactDAO contactDAO, ContactFilter filter, ContactSortKey sortKey, boolean ascending, int pageSize,
+                 ContactProjection projection) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.contactDAO = contactDAO;
+        this.filter = filter;
+        this.sortKey = sortKey;
+        this.ascending = ascending;
+        this.pageSize = pageSize;
+        this.projection = projection;
+    }
+
+    /**
+     * Loads the first page.
+     * @return contacts on the first page, empty if nothing matches
+     */
+    public List<Contact> first() {
+        List<Contact> rows = contactDAO.findPage(filter, sortKey, ascending, null, pageSize + 1, projection);
+        hasNext = trimExtraRow(rows);
+        hasPrevious = false;
+        pageNumber = 1;
+        page = rows;
+        return page;
+    }
+
+    /**
+     * Loads the page after the current one. Stays on the current page if there is none.
+     * @return contacts on the new current page
+     */
+    public List<Contact> next() {
+        if (!hasNext || page.isEmpty()) {
+            return page;
+        }
+        List<Contact> rows = contactDAO.findPage(filter, sortKey, ascending, page.get(page.size() - 1), pageSize + 1,
+                projection);
+        if (rows.isEmpty()) {
+            hasNext = false;
+            return page;
+        }
+        hasNext = trimExtraRow(rows);
+        hasPrevious = true;
+        pageNumber++;
+        page = rows;
+        return page;
+    }
+
+    /**
+     * Loads the page before the current one. Stays on the current page if there is none.
+     * @return contacts on the new current page
+     */
+    public List<Contact> previous() {
+        if (!hasPrevious || page.isEmpty()) {
+            return page;
+        }
+        List<Contact> rows = contactDAO.findPage(filter, sortKey, !ascending, page.get(0), pageSize + 1, projection);
+        if (rows.isEmpty()) {
+            return first();
+        }
+        hasPrevious = trimExtraRow(rows);
+        Collections.reverse(rows);
+        hasNext = true;
+        pageNumber = hasPrevious ? Math.max(pageNumber - 1, 2) : 1;
+        page = rows;
+        return page;
+    }
+
+    /**
+     * Removes the look-ahead row fetched to detect whether another page exists.
+     * @return true if the look-ahead row was present
+     */
+    private boolean trimExtraRow(List<Contact> rows) {
+        if (rows.size() > pageSize) {
+            rows.remove(pageSize);
+            return true;
+        }
+        return false;
+    }
+
+    public List<Contact> getPage() {
+        return page;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public boolean hasPrevious() {
+        return hasPrevious;
+    }
+}
@@ -0,0 +1,114 @@
+package dao;
+
+import model.Contact;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Column sets read from the contacts table.
+ * Each projection selects only the columns its screens need, and maps rows by
+ * column index computed once here instead of looking every column up by name.
+ * Fields that are not part of a projection are left null on the mapped Contact.
+ */
+public enum ContactProjection {
+
+    /** Every column; used for edit and undo snapshots and exports. */
+    FULL("contact_id", "first_name", "last_name", "nickname", "phone_number", "email",
+            "linkedin_url", "birth_date", "created_at", "updated_at"),
+
+    /** Columns shown by the contact tables in the list, search and sort screens. */
+    LIST("contact_id", "first_name", "last_name", "phone_number", "email", "linkedin_url", "birth_date"),
+
+    /** Name and birth date only; used by the statistics screen. */
+    SUMMARY("contact_id", "first_name", "last_name", "birth_date");
+
+    /**
+     * Shared first name, last name and nickname strings, -Ddb.nameCanonicalizer.size slots
+     * (default 4096, 0 disables).
+     */
+    static final StringCanonicalizer NAMES =
+            new StringCanonicalizer(Integer.getInteger("db.nameCanonicalizer.size", 4096));
+
+    private final String selectList;
+    private final int idIndex;
+    private final int firstNameIndex;
+    private final int lastNameIndex;
+    private final int nicknameIndex;
+    private final int phoneIndex;
+    private final int emailIndex;
+    private final int linkedinIndex;
+    private final int birthDateIndex;
+    private final int createdAtIndex;
+    private final int updatedAtIndex;
+
+    ContactProjection(String... columns) {
+        List<String> list = Arrays.asList(columns);
+        this.selectList = String.join(", ", columns);
+        this.idIndex = list.indexOf("contact_id") + 1;
+        this.firstNameIndex = list.indexOf("first_name") + 1;
+        this.lastNameIndex = list.indexOf("last_name") + 1;
+        this.nicknameIndex = list.indexOf("nickname") + 1;
+        this.phoneIndex = list.indexOf("phone_number") + 1;
+        this.emailIndex = list.indexOf("email") + 1;
+        this.linkedinIndex = list.indexOf("linkedin_url") + 1;
+        this.birthDateIndex = list.indexOf("birth_date") + 1;
+        this.createdAtIndex = list.indexOf("created_at") + 1;
+        this.updatedAtIndex = list.indexOf("updated_at") + 1;
+    }
+
+    /**
+     * @return the comma separated column list for the SELECT clause
+     */
+    String getSelectList() {
+        return selectList;
+    }
+
+    /**
+     * Maps the current row, which must have been selected with {@link #getSelectList()}.
+     * An index of 0 means the column is not part of this projection.
+     * Names are passed through {@link #NAMES}, so repeated names share one String.
+     * @param rs the ResultSet positioned on a row
+     * @return Contact object created from the row
+     * @throws SQLException if database access error occurs
+     */
+    Contact map(ResultSet rs) throws SQLException {
+        Contact c = new Contact();
+        c.setContactId(rs.getInt(idIndex));
+        if (firstNameIndex > 0) {
+            c.setFirstName(NAMES.canonicalize(rs.getString(firstNameIndex)));
+        }
+        if (lastNameIndex > 0) {
+            c.setLastName(NAMES.canonicalize(rs.getString(lastNameIndex)));
+        }
+        if (nicknameIndex > 0) {
+            c.setNickname(NAMES.canonicalize(rs.getString(nicknameIndex)));
+        }
+        if (phoneIndex > 0) {
+            c.setPhoneNumber(rs.getString(phoneIndex));
+        }
+        if (emailIndex > 0) {
+            c.setEmail(rs.getString(emailIndex));
+        }
+        if (linkedinIndex > 0) {
+            c.setLinkedinUrl(rs.getString(linkedinIndex));
+        }
+        if (birthDateIndex > 0) {
+            Date birth = rs.getDate(birthDateIndex);
+            c.setBirthDate(birth != null ? birth.toLocalDate() : null);
+        }
+        if (createdAtIndex > 0) {
+            Timestamp created = rs.getTimestamp(createdAtIndex);
+            c.setCreatedAt(created != null ? created.toLocalDateTime() : null);
+        }
+        if (updatedAtIndex > 0) {
+            Timestamp updated = rs.getTimestamp(updatedAtIndex);
+            c.setUpdatedAt(updated != null ? updated.toLocalDateTime() : null);
+        }
+        return c;
+    }
+}
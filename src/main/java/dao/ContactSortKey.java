@@ -0,0 +1,57 @@
+package dao;
+
+import model.Contact;
+
+import java.sql.Date;
+
+/**
+ * Sort columns supported by the paged contact queries.
+ * Every key is combined with contact_id as a tie-breaker, so (column, contact_id)
+ * gives a unique, stable order that pages can seek on.
+ */
+public enum ContactSortKey {
+    ID("contact_id", false),
+    FIRST_NAME("first_name", false),
+    LAST_NAME("last_name", false),
+    PHONE("phone_number", false),
+    BIRTH_DATE("birth_date", true);
+
+    private final String column;
+    private final boolean nullable;
+
+    ContactSortKey(String column, boolean nullable) {
+        this.column = column;
+        this.nullable = nullable;
+    }
+
+    String getColumn() {
+        return column;
+    }
+
+    /**
+     * @return true if the column may contain NULL (MySQL sorts NULL before any value)
+     */
+    boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * Returns the value of this key's column for the given contact, ready to bind as a parameter.
+     * @param contact the contact at a page boundary
+     * @return the column value, or null
+     */
+    Object valueOf(Contact contact) {
+        switch (this) {
+            case FIRST_NAME:
+                return contact.getFirstName();
+            case LAST_NAME:
+                return contact.getLastName();
+            case PHONE:
+                return contact.getPhoneNumber();
+            case BIRTH_DATE:
+                return contact.getBirthDate() != null ? Date.valueOf(contact.getBirthDate()) : null;
+            default:
+                return contact.getContactId();
+        }
+    }
+}
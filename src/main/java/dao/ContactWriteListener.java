@@ -0,0 +1,24 @@
+package dao;
+
+import model.Contact;
+
+/**
+ * Receives contact changes after ContactDAO has written them successfully.
+ * Used to keep in-memory indexes in sync with the contacts table.
+ * Register with {@link ContactDAO#addWriteListener(ContactWriteListener)}.
+ */
+public interface ContactWriteListener {
+
+    /**
+     * Called after a contact was inserted, updated or restored.
+     * @param contact the contact as written, with its contact_id set; created_at and updated_at
+     *                are set by the database and are null here
+     */
+    void contactSaved(Contact contact);
+
+    /**
+     * Called after a contact was deleted.
+     * @param contactId the ID of the deleted contact
+     */
+    void contactDeleted(int contactId);
+}
@@ -1,43 +1,73 @@
 package dao;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.List;
 
 public class DatabaseConnection {
 
     /** JDBC connection URL for MySQL database.
      * Username: myuser
-     * Password: 1234 
+     * Password: 1234
      * For authentication.
+     * rewriteBatchedStatements=true lets the driver send JDBC batches as multi-row statements.
+     * useServerPrepStmts=true prepares statements on the server, so a statement kept in the
+     * pool's statement cache is parsed and planned once per connection, not on every execution.
      */
-    private static final String URL = "jdbc:mysql://localhost:3306/oop_rbcm_db?useUnicode=true&characterEncoding=UTF-8&useSSL=false";
+    private static final String URL = "jdbc:mysql://localhost:3306/oop_rbcm_db?useUnicode=true&characterEncoding=UTF-8&useSSL=false&rewriteBatchedStatements=true&useServerPrepStmts=true";
     private static final String USER = "myuser";
     private static final String PASSWORD = "1234";
 
-    private static Connection connection;
+    /** Session setup run once on every new physical connection (UTF-8 for Turkish characters). */
+    private static final List<String> SESSION_INIT_SQL = List.of(
+            "SET NAMES utf8mb4",
+            "SET character_set_results = 'utf8mb4'",
+            "SET character_set_client = 'utf8mb4'",
+            "SET character_set_connection = 'utf8mb4'"
+    );
+
+    /** Pool settings, overridable with -D system properties. */
+    private static final int POOL_MIN_SIZE = Integer.getInteger("db.pool.minSize", 1);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("db.pool.maxSize", 8);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("db.pool.borrowTimeoutMs", 10_000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("db.pool.idleTimeoutMs", 300_000L);
+    private static final long POOL_LEAK_THRESHOLD_MS = Long.getLong("db.pool.leakThresholdMs", 60_000L);
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("db.statementCache.size", 64);
+
+    private static ConnectionPool pool;
 
     /**
-     * Returns a database connection instance. Uses single pattern to reuse the same connection.
-     * If no connection exists or the existing connection is closed, creates a new one.
-     * Automatically configures UTF-8 for Turkish characters.
+     * Returns a connection borrowed from the shared connection pool.
+     * Callers must close the returned connection (try-with-resources);
+     * closing hands it back to the pool instead of closing the socket.
      * @return Connection object to the MySQL database.
      * @throws SQLException if database connection fails or SQL error occurs.
      */
     public static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(URL, USER, PASSWORD);
-            
-            try (Statement s = connection.createStatement()) {
-                s.execute("SET NAMES utf8mb4");
-                s.execute("SET character_set_results = 'utf8mb4'");
-                s.execute("SET character_set_client = 'utf8mb4'");
-                s.execute("SET character_set_connection = 'utf8mb4'");
-            } catch (SQLException ignored) {
-                
-            }
+        return getPool().borrow();
+    }
+
+    /**
+     * Returns the shared pool, creating it on first use.
+     * @return the application-wide ConnectionPool
+     */
+    public static synchronized ConnectionPool getPool() {
+        if (pool == null) {
+            pool = new ConnectionPool(URL, USER, PASSWORD, SESSION_INIT_SQL,
+                    POOL_MIN_SIZE, POOL_MAX_SIZE,
+                    POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_LEAK_THRESHOLD_MS,
+                    STATEMENT_CACHE_SIZE);
+        }
+        return pool;
+    }
+
+    /**
+     * Closes the pool if it was ever created. Called once when the application exits.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
         }
-        return connection;
     }
 }
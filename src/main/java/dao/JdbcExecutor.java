@@ -0,0 +1,232 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared execution layer for the DAO classes.
+ * Every method borrows a pooled connection, prepares the statement (served from the
+ * per-connection statement cache), runs it, and always releases the result set,
+ * the statement and the connection, also when an exception is thrown.
+ */
+final class JdbcExecutor {
+
+    /**
+     * Sets the parameters of a prepared statement.
+     */
+    @FunctionalInterface
+    interface StatementBinder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    /**
+     * Converts the current row of a result set into an object.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Consumes the current row of a result set.
+     */
+    @FunctionalInterface
+    interface RowCallback {
+        void accept(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Sets the parameters of a prepared statement for one item of a batch.
+     */
+    @FunctionalInterface
+    interface ItemBinder<T> {
+        void bind(PreparedStatement ps, T item) throws SQLException;
+    }
+
+    /** Binder for statements without parameters. */
+    static final StatementBinder NO_PARAMS = ps -> { };
+
+    /**
+     * Runs a query and maps every row.
+     * @param sql the SQL query
+     * @param binder sets the query parameters
+     * @param mapper maps one row
+     * @return list of mapped rows, empty if there are none
+     * @throws SQLException if a database access error occurs
+     */
+    static <T> List<T> queryList(String sql, StatementBinder binder, RowMapper<T> mapper) throws SQLException {
+        List<T> results = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    results.add(mapper.map(rs));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs a query and passes every row to the callback without collecting them.
+     * @param sql the SQL query
+     * @param binder sets the query parameters
+     * @param callback called once per row
+     * @throws SQLException if a database access error occurs
+     */
+    static void forEachRow(String sql, StatementBinder binder, RowCallback callback) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    callback.accept(rs);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a query on a forward-only, read-only cursor and passes every row to the callback.
+     * Rows are fetched from the server in chunks of fetchSize instead of buffering the whole
+     * result in the driver, so memory stays flat regardless of the result size.
+     * With MySQL Connector/J, Integer.MIN_VALUE streams row by row; positive values need
+     * useCursorFetch=true in the JDBC URL.
+     * @param sql the SQL query
+     * @param binder sets the query parameters
+     * @param fetchSize driver fetch size hint
+     * @param callback called once per row
+     * @throws SQLException if a database access error occurs
+     */
+    static void stream(String sql, StatementBinder binder, int fetchSize, RowCallback callback) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(fetchSize);
+            binder.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    callback.accept(rs);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a query and maps the first row only.
+     * @param sql the SQL query
+     * @param binder sets the query parameters
+     * @param mapper maps the row
+     * @return the mapped first row, or null if the query returned no rows
+     * @throws SQLException if a database access error occurs
+     */
+    static <T> T queryOne(String sql, StatementBinder binder, RowMapper<T> mapper) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapper.map(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Runs an INSERT, UPDATE or DELETE statement.
+     * @param sql the SQL statement
+     * @param binder sets the statement parameters
+     * @return number of affected rows
+     * @throws SQLException if a database access error occurs
+     */
+    static int update(String sql, StatementBinder binder) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            return ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Runs one statement for every item as a JDBC batch on a single connection.
+     * @param sql the SQL statement
+     * @param items the items to bind, one execution each
+     * @param binder sets the statement parameters for an item
+     * @return update counts, one per item
+     * @throws SQLException if a database access error occurs
+     */
+    static <T> int[] batch(String sql, List<T> items, ItemBinder<T> binder) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (T item : items) {
+                binder.bind(ps, item);
+                ps.addBatch();
+            }
+            return ps.executeBatch();
+        }
+    }
+
+    /**
+     * Runs an INSERT for every item as one JDBC batch inside a single transaction and returns
+     * the generated keys. With rewriteBatchedStatements=true the driver sends the batch as
+     * multi-row INSERTs, so a chunk costs a few round trips instead of one per row.
+     * Either every item is inserted or, on error, none is.
+     * @param sql the INSERT statement
+     * @param items the items to insert
+     * @param binder sets the statement parameters for an item
+     * @return generated keys in item order
+     * @throws SQLException if a database access error occurs; the transaction is rolled back
+     */
+    static <T> int[] batchInsertReturningKeys(String sql, List<T> items, ItemBinder<T> binder) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (T item : items) {
+                    binder.bind(ps, item);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                int[] keys = new int[items.size()];
+                int n = 0;
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    while (rs.next() && n < keys.length) {
+                        keys[n++] = rs.getInt(1);
+                    }
+                }
+                conn.commit();
+                return keys;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Runs an INSERT statement and returns the auto-generated key.
+     * @param sql the SQL statement
+     * @param binder sets the statement parameters
+     * @return the generated key, 0 if the driver returned none, or -1 if no row was inserted
+     * @throws SQLException if a database access error occurs
+     */
+    static int insertReturningKey(String sql, StatementBinder binder) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            binder.bind(ps);
+            if (ps.executeUpdate() == 0) {
+                return -1;
+            }
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                return keys.next() ? keys.getInt(1) : 0;
+            }
+        }
+    }
+
+    private JdbcExecutor() { }
+}
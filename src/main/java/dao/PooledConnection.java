@@ -0,0 +1,40 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * One physical JDBC connection owned by a {@link ConnectionPool}.
+ * Holds the bookkeeping the pool needs for validation, idle eviction and leak detection.
+ * Callers never see this class; they receive a {@link ConnectionLease} proxy instead.
+ */
+final class PooledConnection {
+
+    final Connection physical;
+    final StatementCache statementCache;
+    final long createdAt;
+
+    volatile long lastReturnedAt;
+    volatile long borrowedAt;
+    volatile Throwable borrowSite;
+    volatile boolean leakReported;
+    volatile boolean broken;
+
+    PooledConnection(Connection physical, StatementCache statementCache) {
+        this.physical = physical;
+        this.statementCache = statementCache;
+        this.createdAt = System.currentTimeMillis();
+        this.lastReturnedAt = createdAt;
+    }
+
+    /**
+     * Closes the cached statements and the physical connection, ignoring errors.
+     */
+    void closeQuietly() {
+        statementCache.closeAll();
+        try {
+            physical.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
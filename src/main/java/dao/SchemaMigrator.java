@@ -0,0 +1,287 @@
+package dao;
+
+import util.ConsoleColors;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Applies versioned SQL migrations at startup.
+ * Migration files are named V&lt;version&gt;__&lt;description&gt;.sql and are read from the
+ * db/migrations directory (override with -Ddb.migrations.dir). Applied versions are
+ * recorded in the schema_version table, so every file runs once per database, in
+ * version order. A named lock keeps two application instances from migrating at
+ * the same time.
+ */
+public class SchemaMigrator {
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    /** MySQL error codes meaning the column or index is already there. */
+    private static final int ER_DUP_FIELDNAME = 1060;
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    private static final String LOCK_NAME = "oop_rbcm_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 30;
+
+    private final Path directory;
+
+    public SchemaMigrator() {
+        this(Paths.get(System.getProperty("db.migrations.dir", "db/migrations")));
+    }
+
+    public SchemaMigrator(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * One migration file.
+     */
+    private static final class Migration {
+        final int version;
+        final String description;
+        final Path file;
+
+        Migration(int version, String description, Path file) {
+            this.version = version;
+            this.description = description;
+            this.file = file;
+        }
+    }
+
+    /**
+     * Applies all pending migrations.
+     * Stops at the first failing migration; later versions are not attempted.
+     * @return true if the schema is up to date, false if a migration failed or the database is unreachable
+     */
+    public boolean migrate() {
+        List<Migration> migrations;
+        try {
+            migrations = findMigrations();
+        } catch (IOException e) {
+            System.out.println(ConsoleColors.RED + "Could not read migrations from " + directory + ": "
+                    + e.getMessage() + ConsoleColors.RESET);
+            return false;
+        }
+        if (migrations.isEmpty()) {
+            return true;
+        }
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (!acquireLock(conn)) {
+                System.out.println(ConsoleColors.RED + "Schema migration lock is held by another instance."
+                        + ConsoleColors.RESET);
+                return false;
+            }
+            try {
+                createVersionTable(conn);
+                Map<Integer, Long> applied = loadAppliedVersions(conn);
+
+                for (Migration migration : migrations) {
+                    String script = new String(Files.readAllBytes(migration.file), StandardCharsets.UTF_8);
+                    long checksum = checksum(script);
+
+                    Long appliedChecksum = applied.get(migration.version);
+                    if (appliedChecksum != null) {
+                        if (appliedChecksum != checksum) {
+                            System.out.println(ConsoleColors.YELLOW + "Warning: migration V" + migration.version
+                                    + " was changed after it was applied." + ConsoleColors.RESET);
+                        }
+                        continue;
+                    }
+
+                    if (!apply(conn, migration, script, checksum)) {
+                        return false;
+                    }
+                }
+                return true;
+            } finally {
+                releaseLock(conn);
+            }
+        } catch (SQLException | IOException e) {
+            System.out.println(ConsoleColors.RED + "Schema migration failed: " + e.getMessage() + ConsoleColors.RESET);
+            return false;
+        }
+    }
+
+    /**
+     * Checks that every migration file has been applied, without applying any.
+     * Used when migrations are run outside the application (-Ddb.skipMigrations).
+     * @return true if the schema is up to date, false if a version is missing or the database is unreachable
+     */
+    public boolean verify() {
+        List<Migration> migrations;
+        try {
+            migrations = findMigrations();
+        } catch (IOException e) {
+            System.out.println(ConsoleColors.RED + "Could not read migrations from " + directory + ": "
+                    + e.getMessage() + ConsoleColors.RESET);
+            return false;
+        }
+        if (migrations.isEmpty()) {
+            return true;
+        }
+
+        Map<Integer, Long> applied;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            applied = loadAppliedVersions(conn);
+        } catch (SQLException e) {
+            System.out.println(ConsoleColors.RED + "Schema check failed: " + e.getMessage() + ConsoleColors.RESET);
+            return false;
+        }
+        boolean upToDate = true;
+        for (Migration migration : migrations) {
+            if (!applied.containsKey(migration.version)) {
+                System.out.println(ConsoleColors.RED + "Migration V" + migration.version + " ("
+                        + migration.file.getFileName() + ") has not been applied." + ConsoleColors.RESET);
+                upToDate = false;
+            }
+        }
+        return upToDate;
+    }
+
+    /**
+     * Runs the statements of one migration and records it.
+     * DDL statements commit implicitly in MySQL, so a failed migration is not rolled back;
+     * statements that only recreate an existing column or index are skipped, which makes
+     * re-running a partially applied migration safe.
+     */
+    private boolean apply(Connection conn, Migration migration, String script, long checksum) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            for (String sql : splitStatements(script)) {
+                try {
+                    st.execute(sql);
+                } catch (SQLException e) {
+                    if (e.getErrorCode() != ER_DUP_FIELDNAME && e.getErrorCode() != ER_DUP_KEYNAME) {
+                        System.out.println(ConsoleColors.RED + "Migration V" + migration.version + " ("
+                                + migration.file.getFileName() + ") failed: " + e.getMessage() + ConsoleColors.RESET);
+                        return false;
+                    }
+                }
+            }
+        }
+
+        String sql = "INSERT INTO schema_version (version, description, script, checksum) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, migration.version);
+            ps.setString(2, migration.description);
+            ps.setString(3, migration.file.getFileName().toString());
+            ps.setLong(4, checksum);
+            ps.executeUpdate();
+        }
+        System.out.println(ConsoleColors.GREEN + "Applied migration V" + migration.version + ": "
+                + migration.description + ConsoleColors.RESET);
+        return true;
+    }
+
+    /**
+     * Lists V*.sql files in version order. A missing directory means there is nothing to apply.
+     */
+    private List<Migration> findMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return migrations;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher m = FILE_NAME.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    migrations.add(new Migration(Integer.parseInt(m.group(1)),
+                            m.group(2).replace('_', ' '), file));
+                }
+            });
+        }
+        migrations.sort((a, b) -> Integer.compare(a.version, b.version));
+        return migrations;
+    }
+
+    private void createVersionTable(Connection conn) throws SQLException {
+        String sql = "CREATE TABLE IF NOT EXISTS schema_version (" +
+                "version int(11) NOT NULL PRIMARY KEY, " +
+                "description varchar(200) NOT NULL, " +
+                "script varchar(200) NOT NULL, " +
+                "checksum bigint(20) NOT NULL, " +
+                "installed_at datetime NOT NULL DEFAULT current_timestamp()" +
+                ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci";
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    private Map<Integer, Long> loadAppliedVersions(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT version, checksum FROM schema_version");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getLong("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private boolean acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void releaseLock(Connection conn) {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Splits a script into statements. Lines starting with "--" are comments;
+     * a statement ends with a semicolon at the end of a line.
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (current.toString().trim().length() > 0) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static long checksum(String script) {
+        CRC32 crc = new CRC32();
+        crc.update(script.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
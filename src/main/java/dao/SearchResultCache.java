@@ -0,0 +1,103 @@
+package dao;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of search results as contact ID lists, keyed by {@link ContactFilter}
+ * (search condition plus normalized parameters).
+ *
+ * Every entry remembers the contacts table version it was read at. ContactDAO bumps the
+ * version on every write, and an entry from an older version is treated as a miss, so a
+ * cached result is never served after a write that could have changed it. The contacts
+ * themselves are not stored here; ContactDAO materializes the IDs from {@link ContactCache}.
+ */
+public final class SearchResultCache {
+
+    private final int maxEntries;
+    private final int maxIdsPerEntry;
+    private final LinkedHashMap<ContactFilter, Entry> entries;
+
+    private long hits;
+    private long misses;
+    private long invalidations;
+
+    private static final class Entry {
+        final long version;
+        final int[] ids;
+
+        Entry(long version, int[] ids) {
+            this.version = version;
+            this.ids = ids;
+        }
+    }
+
+    /**
+     * @param maxEntries number of results kept; 0 disables the cache
+     * @param maxIdsPerEntry larger results are not cached
+     */
+    SearchResultCache(int maxEntries, int maxIdsPerEntry) {
+        this.maxEntries = maxEntries;
+        this.maxIdsPerEntry = maxIdsPerEntry;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ContactFilter, Entry> eldest) {
+                return size() > SearchResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param filter the search
+     * @param version the current contacts table version
+     * @return the IDs found by the search at this version, in result order, or null on a miss;
+     *         the cached array itself, which must not be changed (ContactDAO copies it for callers)
+     */
+    synchronized int[] get(ContactFilter filter, long version) {
+        Entry entry = entries.get(filter);
+        if (entry != null && entry.version == version) {
+            hits++;
+            return entry.ids;
+        }
+        if (entry != null) {
+            entries.remove(filter);
+            invalidations++;
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * @param filter the search
+     * @param version the table version read before the search query ran
+     * @param ids the IDs found, in result order; kept as is, so the caller must not change it afterwards
+     */
+    synchronized void put(ContactFilter filter, long version, int[] ids) {
+        if (maxEntries > 0 && ids.length <= maxIdsPerEntry) {
+            entries.put(filter, new Entry(version, ids));
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * @return entries dropped because the table changed after they were read
+     */
+    public synchronized long getInvalidationCount() {
+        return invalidations;
+    }
+}
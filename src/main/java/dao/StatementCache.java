@@ -0,0 +1,226 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL text.
+ *
+ * prepareStatement(sql) on a pooled connection is served from here, so running the same
+ * query again skips the prepare round trip. The statement handed to the caller is a proxy:
+ * close() closes its result sets and clears the parameters, but keeps the statement open
+ * for the next caller. The physical statement is closed when it is evicted or when the
+ * connection leaves the pool.
+ */
+final class StatementCache {
+
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final int capacity;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    StatementCache(ConnectionPool pool, Connection physical, int capacity) {
+        this.pool = pool;
+        this.physical = physical;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns a statement handle for the given SQL, preparing it on a cache miss.
+     * If the cached statement is already in use on this lease (nested query with the same SQL),
+     * a plain uncached statement is returned instead.
+     * @param sql SQL text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS / NO_GENERATED_KEYS, or null
+     * @param owner the connection proxy the caller holds (returned by getConnection())
+     * @param lease the lease the statement is used under; its exceptions are reported to it
+     * @return a PreparedStatement the caller must close
+     * @throws SQLException if preparing fails
+     */
+    PreparedStatement prepare(String sql, Integer autoGeneratedKeys, Connection owner,
+                              ConnectionLease lease) throws SQLException {
+        if (capacity <= 0) {
+            return lease.guard(prepareUncached(sql, autoGeneratedKeys), PreparedStatement.class);
+        }
+
+        Key key = new Key(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.inUse) {
+                return lease.guard(prepareUncached(sql, autoGeneratedKeys), PreparedStatement.class);
+            }
+            pool.recordStatementCacheHit();
+        } else {
+            pool.recordStatementCacheMiss();
+            entry = new Entry(prepareUncached(sql, autoGeneratedKeys));
+            entries.put(key, entry);
+            evictOverflow();
+        }
+
+        entry.inUse = true;
+        return entry.newHandle(owner, lease);
+    }
+
+    /**
+     * Closes every cached statement. Called when the physical connection is closed.
+     */
+    void closeAll() {
+        for (Entry entry : entries.values()) {
+            entry.closePhysical();
+        }
+        entries.clear();
+    }
+
+    private PreparedStatement prepareUncached(String sql, Integer autoGeneratedKeys) throws SQLException {
+        return autoGeneratedKeys == null
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            Entry eldest = it.next();
+            if (eldest.inUse) {
+                continue;
+            }
+            it.remove();
+            eldest.closePhysical();
+            pool.recordStatementCacheEviction();
+        }
+    }
+
+    private static final class Key {
+        private final String sql;
+        private final Integer autoGeneratedKeys;
+
+        Key(String sql, Integer autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return sql.equals(other.sql) && Objects.equals(autoGeneratedKeys, other.autoGeneratedKeys);
+        }
+
+        @Override
+        public int hashCode() {
+            return sql.hashCode() * 31 + Objects.hashCode(autoGeneratedKeys);
+        }
+    }
+
+    /**
+     * A cached physical statement plus the handle currently lent out for it.
+     */
+    private static final class Entry {
+        private final PreparedStatement statement;
+        private boolean inUse;
+
+        Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        PreparedStatement newHandle(Connection owner, ConnectionLease lease) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    new Handle(this, owner, lease));
+        }
+
+        void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Proxy handler for one use of a cached statement.
+     * Exceptions from the statement and its result sets are reported to the lease.
+     */
+    private static final class Handle implements InvocationHandler {
+        private final Entry entry;
+        private final Connection owner;
+        private final ConnectionLease lease;
+        private final List<ResultSet> openResults = new ArrayList<>();
+        private boolean closed;
+
+        Handle(Entry entry, Connection owner, ConnectionLease lease) {
+            this.entry = entry;
+            this.owner = owner;
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    release();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + entry.statement + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement has already been closed.");
+            }
+
+            try {
+                Object result = method.invoke(entry.statement, args);
+                if (result instanceof ResultSet) {
+                    result = lease.guard(result, ResultSet.class);
+                    openResults.add((ResultSet) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw lease.markIfBroken(e.getCause());
+            }
+        }
+
+        private void release() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (ResultSet rs : openResults) {
+                try {
+                    rs.close();
+                } catch (SQLException ignored) {
+                }
+            }
+            openResults.clear();
+            try {
+                entry.statement.clearParameters();
+            } catch (SQLException ignored) {
+            }
+            entry.inUse = false;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package dao;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, lock-free dictionary that hands out one shared String per distinct value,
+ * used by {@link ContactProjection#map} for first names, last names and nicknames.
+ *
+ * Directories repeat names heavily, so a large result list or cache otherwise keeps one
+ * String per row for the same "Mehmet". Here each value hashes to one slot of a fixed array:
+ * if the slot holds an equal String that one is returned and the row's copy becomes garbage
+ * at once; otherwise the value takes over the slot. Memory stays at the slot count whatever
+ * the number of distinct names, and rare names simply displace each other.
+ * The driver still creates a String per column read; what shrinks is the retained heap.
+ */
+public final class StringCanonicalizer {
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param size number of slots, rounded up to a power of two; 0 disables canonicalization
+     */
+    StringCanonicalizer(int size) {
+        int capacity = size <= 0 ? 0 : Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.slots = capacity > 0 ? new AtomicReferenceArray<>(capacity) : null;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @param value a string, may be null
+     * @return an equal string, shared with earlier calls where possible
+     */
+    String canonicalize(String value) {
+        if (value == null || slots == null) {
+            return value;
+        }
+        int h = value.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        String cached = slots.get(slot);
+        if (value.equals(cached)) {
+            hits.increment();
+            return cached;
+        }
+        // Strings are immutable, so a racing reader sees either string whole
+        slots.set(slot, value);
+        misses.increment();
+        return value;
+    }
+
+    /**
+     * @return number of slots, 0 if disabled
+     */
+    public int getSize() {
+        return slots == null ? 0 : slots.length();
+    }
+
+    /**
+     * @return values replaced by a shared string
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
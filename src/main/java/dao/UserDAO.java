@@ -101,8 +101,8 @@ public class UserDAO {
         String sql = "SELECT * FROM users WHERE username = ?";
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
                 ps.setString(1, username);
                 try (ResultSet rs = ps.executeQuery()) {
                     if (rs.next()) {
@@ -127,8 +127,8 @@ public class UserDAO {
         String sql = "SELECT * FROM users ORDER BY user_id";
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            try (PreparedStatement ps = conn.prepareStatement(sql);
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql);
                  ResultSet rs = ps.executeQuery()) {
 
                 while (rs.next()) {
@@ -148,8 +148,8 @@ public class UserDAO {
         String sql = "SELECT * FROM users WHERE user_id = ?";
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
                 ps.setInt(1, userId);
                 try (ResultSet rs = ps.executeQuery()) {
                     if (rs.next()) {
@@ -175,8 +175,8 @@ public class UserDAO {
         }
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
                 ps.setString(1, username);
                 if (excludeId != null) {
                     ps.setInt(2, excludeId);
@@ -204,8 +204,8 @@ public class UserDAO {
                 """;
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
                 ps.setString(1, user.getUsername());
                 ps.setString(2, user.getPasswordHash());
@@ -241,8 +241,8 @@ public class UserDAO {
                 """;
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
                 ps.setString(1, user.getUsername());
                 ps.setString(2, user.getName());
                 ps.setString(3, user.getSurname());
@@ -266,8 +266,8 @@ public class UserDAO {
         String sql = "UPDATE users SET password_hash = ? WHERE user_id = ?";
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
                 ps.setString(1, newPasswordHash);
                 ps.setInt(2, userId);
 
@@ -287,8 +287,8 @@ public class UserDAO {
         String sql = "DELETE FROM users WHERE user_id = ?";
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
                 ps.setInt(1, userId);
 
                 int affected = ps.executeUpdate();
@@ -319,8 +319,8 @@ public class UserDAO {
                 """;
 
         try {
-            Connection conn = DatabaseConnection.getConnection();
-            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
 
                 ps.setInt(1, user.getId());
                 ps.setString(2, user.getUsername());
@@ -0,0 +1,117 @@
+package export;
+
+import dao.ContactDAO;
+import dao.ContactFilter;
+import dao.ContactProjection;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports contacts to a file in one of the {@link ExportFormat}s, optionally gzip compressed.
+ *
+ * Rows are streamed from a forward-only cursor (see {@link ContactDAO#forEachContact(ContactFilter,
+ * ContactProjection, java.util.function.Consumer)}) and written through fixed-size buffers
+ * into a file channel, so memory use is the same for ten contacts and ten million.
+ * Any search filter can be exported, including the ID lists found by the search index.
+ */
+public class ContactExporter {
+
+    /** Size of the character and compression buffers. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ContactDAO contactDAO = new ContactDAO();
+
+    /**
+     * Outcome of an export.
+     */
+    public static final class Result {
+        private final int contacts;
+        private final long bytes;
+        private final double seconds;
+
+        Result(int contacts, long bytes, double seconds) {
+            this.contacts = contacts;
+            this.bytes = bytes;
+            this.seconds = seconds;
+        }
+
+        public int getContacts() { return contacts; }
+        /** @return size of the written file */
+        public long getBytes() { return bytes; }
+        public double getSeconds() { return seconds; }
+
+        public double getContactsPerSecond() {
+            return seconds > 0 ? contacts / seconds : 0.0;
+        }
+
+        /** @return written megabytes per second */
+        public double getMegabytesPerSecond() {
+            return seconds > 0 ? bytes / seconds / (1024 * 1024) : 0.0;
+        }
+    }
+
+    /**
+     * Writes the contacts matching the filter to a file, replacing it if it exists.
+     * If the database read fails part way, the partly written file is deleted.
+     * @param filter the search condition, {@link ContactFilter#all()} for every contact
+     * @param format the file format
+     * @param file the output file
+     * @param gzip true to compress the output with gzip
+     * @return what was written, or null if reading the contacts or writing the file failed
+     */
+    public Result export(ContactFilter filter, ExportFormat format, Path file, boolean gzip) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(compressed != null ? compressed : out,
+                    StandardCharsets.UTF_8), BUFFER_SIZE);
+
+            format.writeHeader(writer);
+            int count = contactDAO.forEachContact(filter, ContactProjection.FULL, contact -> {
+                try {
+                    format.write(writer, contact);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            if (compressed != null) {
+                compressed.finish();
+            }
+            long bytes = channel.position();
+            writer.close();
+            if (count < 0) {
+                System.out.println("Reading the contacts failed; " + file + " was not written.");
+                deletePartialFile(file);
+                return null;
+            }
+            return new Result(count, bytes, (System.nanoTime() - start) / 1_000_000_000.0);
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+            deletePartialFile(file);
+            return null;
+        }
+    }
+
+    private static void deletePartialFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
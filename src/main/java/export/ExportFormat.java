@@ -0,0 +1,238 @@
+package export;
+
+import model.Contact;
+import util.CsvWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * File formats for {@link ContactExporter}. Every format writes one contact at a time,
+ * so nothing but the current contact is held in memory.
+ */
+public enum ExportFormat {
+
+    /**
+     * Comma separated values with a header line, using the column names of the contacts table.
+     * The file can be imported again; the import ignores contact_id, created_at and updated_at.
+     */
+    CSV("csv") {
+        @Override
+        void writeHeader(Writer out) throws IOException {
+            CsvWriter.writeRecord(out, ',', "contact_id", "first_name", "last_name", "nickname",
+                    "phone_number", "email", "linkedin_url", "birth_date", "created_at", "updated_at");
+        }
+
+        @Override
+        void write(Writer out, Contact c) throws IOException {
+            CsvWriter.writeRecord(out, ',', String.valueOf(c.getContactId()), c.getFirstName(), c.getLastName(),
+                    c.getNickname(), c.getPhoneNumber(), c.getEmail(), c.getLinkedinUrl(),
+                    text(c.getBirthDate()), text(c.getCreatedAt()), text(c.getUpdatedAt()));
+        }
+    },
+
+    /** JSON Lines: one JSON object per contact and line, with the column names as keys. */
+    JSONL("jsonl") {
+        @Override
+        void write(Writer out, Contact c) throws IOException {
+            out.write("{\"contact_id\":");
+            out.write(String.valueOf(c.getContactId()));
+            jsonField(out, "first_name", c.getFirstName());
+            jsonField(out, "last_name", c.getLastName());
+            jsonField(out, "nickname", c.getNickname());
+            jsonField(out, "phone_number", c.getPhoneNumber());
+            jsonField(out, "email", c.getEmail());
+            jsonField(out, "linkedin_url", c.getLinkedinUrl());
+            jsonField(out, "birth_date", text(c.getBirthDate()));
+            jsonField(out, "created_at", text(c.getCreatedAt()));
+            jsonField(out, "updated_at", text(c.getUpdatedAt()));
+            out.write("}\n");
+        }
+    },
+
+    /** vCard 3.0 (RFC 2426), one card per contact, with CRLF line breaks and folded long lines. */
+    VCARD("vcf") {
+        @Override
+        void write(Writer out, Contact c) throws IOException {
+            vcardLine(out, "BEGIN:VCARD");
+            vcardLine(out, "VERSION:3.0");
+            vcardLine(out, "N:" + vcardText(c.getLastName()) + ";" + vcardText(c.getFirstName()) + ";;;");
+            vcardLine(out, "FN:" + vcardText(fullName(c)));
+            if (c.getNickname() != null) {
+                vcardLine(out, "NICKNAME:" + vcardText(c.getNickname()));
+            }
+            if (c.getPhoneNumber() != null) {
+                vcardLine(out, "TEL;TYPE=CELL:" + internationalPhone(c.getPhoneNumber()));
+            }
+            if (c.getEmail() != null) {
+                vcardLine(out, "EMAIL;TYPE=INTERNET:" + vcardText(c.getEmail()));
+            }
+            if (c.getLinkedinUrl() != null) {
+                vcardLine(out, "URL:" + c.getLinkedinUrl());
+            }
+            if (c.getBirthDate() != null) {
+                vcardLine(out, "BDAY:" + c.getBirthDate());
+            }
+            vcardLine(out, "UID:contact-" + c.getContactId());
+            vcardLine(out, "END:VCARD");
+        }
+    };
+
+    /** vCard lines longer than this many octets are folded. */
+    private static final int VCARD_LINE_OCTETS = 75;
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * @return the usual file name extension, without the dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Writes what comes before the first contact.
+     */
+    void writeHeader(Writer out) throws IOException {
+    }
+
+    /**
+     * Writes one contact.
+     */
+    abstract void write(Writer out, Contact contact) throws IOException;
+
+    /**
+     * @param name a format name or file extension, e.g. "csv", "json", "jsonl", "vcf" or "vcard"
+     * @return the format, or null if unknown
+     */
+    public static ExportFormat parse(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return CSV;
+            case "json":
+            case "jsonl":
+                return JSONL;
+            case "vcf":
+            case "vcard":
+                return VCARD;
+            default:
+                return null;
+        }
+    }
+
+    private static String text(LocalDate date) {
+        return date == null ? null : date.toString();
+    }
+
+    private static String text(LocalDateTime dateTime) {
+        // unlike toString(), always includes the seconds
+        return dateTime == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+    }
+
+    private static String fullName(Contact c) {
+        String first = c.getFirstName() == null ? "" : c.getFirstName();
+        String last = c.getLastName() == null ? "" : c.getLastName();
+        return (first + " " + last).trim();
+    }
+
+    /**
+     * Stored numbers are 10 digit Turkish mobile numbers; they get the +90 country code.
+     */
+    private static String internationalPhone(String phone) {
+        return phone.matches("5[0-9]{9}") ? "+90" + phone : phone;
+    }
+
+    private static void jsonField(Writer out, String key, String value) throws IOException {
+        out.write(",\"");
+        out.write(key);
+        out.write("\":");
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+
+    /**
+     * Escapes a TEXT value: backslash, comma, semicolon and line breaks.
+     */
+    private static String vcardText(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                case ',':
+                case ';':
+                    sb.append('\\').append(c);
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes a content line, folding it into continuation lines (CRLF + space) so that no
+     * physical line exceeds 75 octets of UTF-8. Surrogate pairs are never split.
+     */
+    private static void vcardLine(Writer out, String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int cp = line.codePointAt(i);
+            int size = cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+            if (octets + size > VCARD_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(line, i, Character.charCount(cp));
+            octets += size;
+            i += Character.charCount(cp);
+        }
+        out.write("\r\n");
+    }
+}
@@ -0,0 +1,175 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable set of contact statistics taken at one point in time.
+ * Holds everything shown on the manager's statistics screen, so the screen can be
+ * rendered from a single computation instead of one query per figure.
+ */
+public final class ContactStatsSnapshot {
+
+    private static final String[] MONTH_NAMES = { "January", "February", "March", "April", "May", "June",
+            "July", "August", "September", "October", "November", "December" };
+
+    private final int totalCount;
+    private final int withLinkedinCount;
+    private final int withBirthDateCount;
+    private final double averageAge;
+    private final Contact youngest;
+    private final Contact oldest;
+    private final int[] birthMonthCounts;
+    private final Map<String, Integer> ageGroupCounts;
+    private final Map<String, Integer> firstNameCounts;
+    private final boolean firstNameCountsApproximate;
+    private final LocalDateTime computedAt;
+
+    /**
+     * Constructor with all fields. The arrays and maps are copied.
+     * @param birthMonthCounts 12 counts, January first
+     * @param ageGroupCounts counts per age group, in group order
+     * @param firstNameCounts counts per first name, ordered by count descending
+     * @param firstNameCountsApproximate true if firstNameCounts holds estimated counts of the
+     *        most frequent names only
+     */
+    public ContactStatsSnapshot(int totalCount,
+            int withLinkedinCount,
+            int withBirthDateCount,
+            double averageAge,
+            Contact youngest,
+            Contact oldest,
+            int[] birthMonthCounts,
+            Map<String, Integer> ageGroupCounts,
+            Map<String, Integer> firstNameCounts,
+            boolean firstNameCountsApproximate,
+            LocalDateTime computedAt) {
+        this.totalCount = totalCount;
+        this.withLinkedinCount = withLinkedinCount;
+        this.withBirthDateCount = withBirthDateCount;
+        this.averageAge = averageAge;
+        this.youngest = youngest;
+        this.oldest = oldest;
+        this.birthMonthCounts = birthMonthCounts.clone();
+        this.ageGroupCounts = Collections.unmodifiableMap(new LinkedHashMap<>(ageGroupCounts));
+        this.firstNameCounts = Collections.unmodifiableMap(new LinkedHashMap<>(firstNameCounts));
+        this.firstNameCountsApproximate = firstNameCountsApproximate;
+        this.computedAt = computedAt;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getWithLinkedinCount() {
+        return withLinkedinCount;
+    }
+
+    public int getWithoutLinkedinCount() {
+        return totalCount - withLinkedinCount;
+    }
+
+    public int getWithBirthDateCount() {
+        return withBirthDateCount;
+    }
+
+    /**
+     * @return average age of contacts with a birth date, 0.0 if there are none
+     */
+    public double getAverageAge() {
+        return averageAge;
+    }
+
+    /**
+     * @return youngest contact (name and birth date only), null if no contact has a birth date
+     */
+    public Contact getYoungest() {
+        return youngest;
+    }
+
+    /**
+     * @return oldest contact (name and birth date only), null if no contact has a birth date
+     */
+    public Contact getOldest() {
+        return oldest;
+    }
+
+    /**
+     * @param month 1-12
+     * @return number of contacts born in the month
+     */
+    public int getBirthMonthCount(int month) {
+        return birthMonthCounts[month - 1];
+    }
+
+    /**
+     * Returns the birth month distribution for display.
+     * @return month names with at least one birthday, ordered by count descending, then by month
+     */
+    public Map<String, Integer> getBirthMonthDistribution() {
+        List<Integer> months = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            if (birthMonthCounts[i] > 0) {
+                months.add(i);
+            }
+        }
+        months.sort((a, b) -> birthMonthCounts[a] != birthMonthCounts[b]
+                ? Integer.compare(birthMonthCounts[b], birthMonthCounts[a])
+                : Integer.compare(a, b));
+
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        for (int month : months) {
+            distribution.put(MONTH_NAMES[month], birthMonthCounts[month]);
+        }
+        return distribution;
+    }
+
+    /**
+     * @return counts per age group, in group order
+     */
+    public Map<String, Integer> getAgeGroupCounts() {
+        return ageGroupCounts;
+    }
+
+    /**
+     * @return counts per first name, ordered by count descending, then by name
+     */
+    public Map<String, Integer> getFirstNameCounts() {
+        return firstNameCounts;
+    }
+
+    /**
+     * Returns the most frequent first names.
+     * @param k maximum number of names
+     * @return up to k names with their counts, ordered by count descending, then by name
+     */
+    public Map<String, Integer> getTopFirstNames(int k) {
+        Map<String, Integer> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : firstNameCounts.entrySet()) {
+            if (top.size() == k) {
+                break;
+            }
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+
+    /**
+     * @return true if the first name counts are estimates of the most frequent names only,
+     *         false if they are exact and complete
+     */
+    public boolean isFirstNameCountsApproximate() {
+        return firstNameCountsApproximate;
+    }
+
+    /**
+     * @return when the figures were computed
+     */
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+}
@@ -0,0 +1,244 @@
+package search;
+
+import dao.ContactDAO;
+import dao.ContactProjection;
+import dao.ContactWriteListener;
+import model.Contact;
+import snapshot.ContactSnapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory substring index over first name, last name, phone number and email,
+ * plus a phone number prefix trie with per-birth-year counts.
+ * Leading-wildcard LIKE '%x%' searches cannot use a B-tree index and scan the whole
+ * contacts table; this index answers them from trigram posting lists and returns the
+ * matching contact IDs, which are then fetched by primary key.
+ * The index is loaded once from the database and kept in sync through
+ * {@link ContactWriteListener} notifications from ContactDAO.
+ * Search methods return null while the index is not loaded, so callers can fall back to SQL.
+ */
+public class ContactSearchIndex implements ContactWriteListener {
+
+    private static ContactSearchIndex instance;
+
+    private final TrigramIndex firstNames = new TrigramIndex();
+    private final TrigramIndex lastNames = new TrigramIndex();
+    private final TrigramIndex phones = new TrigramIndex();
+    private final TrigramIndex emails = new TrigramIndex();
+    private final PhoneTrie phonePrefixes = new PhoneTrie();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    /**
+     * Returns the shared index, loading it and registering it with ContactDAO on first use.
+     * @return the application-wide index
+     */
+    public static synchronized ContactSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new ContactSearchIndex();
+            instance.load(new ContactDAO());
+        }
+        return instance;
+    }
+
+    /**
+     * Registers for change notifications, then streams every contact into the index,
+     * from the {@link ContactSnapshot} if one is loaded and otherwise from the database.
+     * Changes arriving during the load are applied under the same lock, so none are lost.
+     * If the load fails the index stays unavailable and searches fall back to SQL.
+     * @param contactDAO DAO used to read the contacts
+     */
+    void load(ContactDAO contactDAO) {
+        ContactDAO.addWriteListener(this);
+        lock.writeLock().lock();
+        try {
+            if (ContactSnapshot.getInstance().forEachContact(this::index) >= 0) {
+                ready = true;
+                return;
+            }
+            int expected = contactDAO.getTotalContactCount();
+            int loaded = contactDAO.forEachContact(ContactProjection.LIST, this::index);
+            ready = loaded >= expected;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return number of indexed contacts
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return firstNames.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param query substring of the first name
+     * @return sorted IDs of matching contacts, or null if the index is not available
+     */
+    public int[] firstNameContains(String query) {
+        return search(firstNames, query);
+    }
+
+    /**
+     * @param query substring of the last name
+     * @return sorted IDs of matching contacts, or null if the index is not available
+     */
+    public int[] lastNameContains(String query) {
+        return search(lastNames, query);
+    }
+
+    /**
+     * @param digits substring of the phone number
+     * @return sorted IDs of matching contacts, or null if the index is not available
+     */
+    public int[] phoneContains(String digits) {
+        return search(phones, digits);
+    }
+
+    /**
+     * @param phonePart substring of the phone number
+     * @param emailPart substring of the email address
+     * @return sorted IDs of contacts matching both, or null if the index is not available
+     */
+    public int[] phoneAndEmailContains(String phonePart, String emailPart) {
+        return searchBoth(phones, phonePart, emails, emailPart);
+    }
+
+    /**
+     * @param firstPart substring of the first name
+     * @param lastPart substring of the last name
+     * @return sorted IDs of contacts matching both, or null if the index is not available
+     */
+    public int[] firstAndLastNameContains(String firstPart, String lastPart) {
+        return searchBoth(firstNames, firstPart, lastNames, lastPart);
+    }
+
+    /**
+     * @param phonePrefix start of the phone number, with or without the leading 0
+     * @param year birth year to match
+     * @return sorted IDs of matching contacts, or null if the index is not available
+     */
+    public int[] phonePrefixAndBirthYear(String phonePrefix, int year) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int[] ids = phonePrefixes.search(phonePrefix, year, Integer.MAX_VALUE);
+            Arrays.sort(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts contacts by phone prefix without collecting them, e.g. to show the number
+     * of matches while a prefix is being entered.
+     * @param phonePrefix start of the phone number, with or without the leading 0
+     * @param year birth year to match, or null for any year
+     * @return number of matching contacts, or -1 if the index is not available
+     */
+    public int countPhonePrefix(String phonePrefix, Integer year) {
+        if (!ready) {
+            return -1;
+        }
+        lock.readLock().lock();
+        try {
+            return phonePrefixes.count(phonePrefix, year);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] search(TrigramIndex index, String query) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] searchBoth(TrigramIndex first, String firstQuery, TrigramIndex second, String secondQuery) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int[] a = first.search(firstQuery);
+            int[] b = second.search(secondQuery);
+            return intersect(a, b);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                result[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private void index(Contact contact) {
+        int id = contact.getContactId();
+        firstNames.put(id, contact.getFirstName());
+        lastNames.put(id, contact.getLastName());
+        phones.put(id, contact.getPhoneNumber());
+        emails.put(id, contact.getEmail());
+        phonePrefixes.put(id, contact.getPhoneNumber(),
+                contact.getBirthDate() != null ? contact.getBirthDate().getYear() : PhoneTrie.NO_YEAR);
+    }
+
+    @Override
+    public void contactSaved(Contact contact) {
+        lock.writeLock().lock();
+        try {
+            index(contact);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void contactDeleted(int contactId) {
+        lock.writeLock().lock();
+        try {
+            firstNames.remove(contactId);
+            lastNames.remove(contactId);
+            phones.remove(contactId);
+            emails.remove(contactId);
+            phonePrefixes.remove(contactId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
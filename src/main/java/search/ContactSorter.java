@@ -0,0 +1,205 @@
+package search;
+
+import dao.ContactSortKey;
+import model.Contact;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Sorts contacts that are already in memory, such as a search result, without another query.
+ *
+ * The first sort on a column turns that column into one int per contact, kept for later sorts:
+ * names become their rank among the distinct names in Turkish collation order (one
+ * {@link CollationKey} per distinct name instead of a Collator call per comparison), phone
+ * numbers their rank in character order and birth dates their epoch day. Sorting then compares
+ * ints only, and orders an int[] of row numbers instead of the contacts.
+ * As in the database listings, nulls come first and contact_id breaks ties, so the order is total.
+ */
+public final class ContactSorter {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+    private static final int NULL_KEY = Integer.MIN_VALUE;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final List<Contact> contacts;
+    private final int[] ids;
+    private final int[][] columns = new int[ContactSortKey.values().length][];
+
+    /**
+     * @param contacts contacts to sort; the list is copied, the contacts are not
+     */
+    public ContactSorter(List<Contact> contacts) {
+        this.contacts = new ArrayList<>(contacts);
+        ids = new int[this.contacts.size()];
+        for (int row = 0; row < ids.length; row++) {
+            ids[row] = this.contacts.get(row).getContactId();
+        }
+        columns[ContactSortKey.ID.ordinal()] = ids;
+    }
+
+    public int size() {
+        return contacts.size();
+    }
+
+    public Contact get(int row) {
+        return contacts.get(row);
+    }
+
+    /**
+     * Orders the rows by the given keys, then by contact_id.
+     * @param ascending direction of every key
+     * @param keys sort keys, most significant first, e.g. LAST_NAME, FIRST_NAME
+     * @return row numbers (see {@link #get(int)}) in sorted order
+     */
+    public synchronized int[] sort(boolean ascending, ContactSortKey... keys) {
+        int[][] order = new int[keys.length + 1][];
+        for (int k = 0; k < keys.length; k++) {
+            order[k] = column(keys[k]);
+        }
+        order[keys.length] = ids;
+
+        int[] rows = new int[ids.length];
+        for (int row = 0; row < rows.length; row++) {
+            rows[row] = row;
+        }
+        mergeSort(rows.clone(), rows, 0, rows.length, order, ascending ? 1 : -1);
+        return rows;
+    }
+
+    /**
+     * @return the contacts in sorted order, as a read-only view
+     * @see #sort(boolean, ContactSortKey...)
+     */
+    public List<Contact> sorted(boolean ascending, ContactSortKey... keys) {
+        int[] rows = sort(ascending, keys);
+        return new AbstractList<Contact>() {
+            @Override
+            public Contact get(int index) {
+                return contacts.get(rows[index]);
+            }
+
+            @Override
+            public int size() {
+                return rows.length;
+            }
+        };
+    }
+
+    private int[] column(ContactSortKey key) {
+        int[] column = columns[key.ordinal()];
+        if (column == null) {
+            column = buildColumn(key);
+            columns[key.ordinal()] = column;
+        }
+        return column;
+    }
+
+    private int[] buildColumn(ContactSortKey key) {
+        switch (key) {
+            case FIRST_NAME:
+                return rankColumn(Contact::getFirstName, Collator.getInstance(TURKISH));
+            case LAST_NAME:
+                return rankColumn(Contact::getLastName, Collator.getInstance(TURKISH));
+            case PHONE:
+                return rankColumn(Contact::getPhoneNumber, null);
+            case BIRTH_DATE: {
+                int[] column = new int[contacts.size()];
+                for (int row = 0; row < column.length; row++) {
+                    Contact c = contacts.get(row);
+                    column[row] = c.getBirthDate() != null ? (int) c.getBirthDate().toEpochDay() : NULL_KEY;
+                }
+                return column;
+            }
+            default:
+                return ids;
+        }
+    }
+
+    /**
+     * Ranks the distinct non-null values of a field and returns every row's rank.
+     * Values the collator considers equal get the same rank.
+     * @param collator the collation, or null for String order
+     */
+    private int[] rankColumn(Function<Contact, String> field, Collator collator) {
+        String[] values = new String[contacts.size()];
+        for (int row = 0; row < values.length; row++) {
+            values[row] = field.apply(contacts.get(row));
+        }
+        String[] distinct = Arrays.stream(values).filter(Objects::nonNull).distinct().toArray(String[]::new);
+        Map<String, Integer> ranks = new HashMap<>(distinct.length * 2);
+        if (collator == null) {
+            Arrays.sort(distinct);
+            for (int i = 0; i < distinct.length; i++) {
+                ranks.put(distinct[i], i);
+            }
+        } else {
+            CollationKey[] keys = new CollationKey[distinct.length];
+            for (int i = 0; i < distinct.length; i++) {
+                keys[i] = collator.getCollationKey(distinct[i]);
+            }
+            Arrays.sort(keys);
+            int rank = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (i > 0 && keys[i].compareTo(keys[i - 1]) != 0) {
+                    rank++;
+                }
+                ranks.put(keys[i].getSourceString(), rank);
+            }
+        }
+
+        int[] column = new int[values.length];
+        for (int row = 0; row < column.length; row++) {
+            column[row] = values[row] == null ? NULL_KEY : ranks.get(values[row]);
+        }
+        return column;
+    }
+
+    /**
+     * Sorts src[from, to) into dst[from, to); both start with the same contents.
+     */
+    private static void mergeSort(int[] src, int[] dst, int from, int to, int[][] order, int sign) {
+        if (to - from < INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int row = dst[i];
+                int j = i - 1;
+                while (j >= from && compare(dst[j], row, order, sign) > 0) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = row;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, order, sign);
+        mergeSort(dst, src, mid, to, order, sign);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && compare(src[i], src[j], order, sign) <= 0)) {
+                dst[k] = src[i++];
+            } else {
+                dst[k] = src[j++];
+            }
+        }
+    }
+
+    private static int compare(int a, int b, int[][] order, int sign) {
+        for (int[] column : order) {
+            if (column[a] != column[b]) {
+                return column[a] < column[b] ? -sign : sign;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,252 @@
+package search;
+
+import util.SearchKeys;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Digit trie over normalized phone numbers.
+ * Nodes live in primitive arrays: children[node * 10 + digit] is the child node (0 = none).
+ * Every node counts the contacts below it per birth year, so a prefix + year query
+ * knows its result size after walking the prefix and only descends into subtrees that
+ * contain that year. Leaves are visited in digit order, so results come out sorted by phone.
+ * Phone numbers are normalized to digits without the leading trunk 0, so "0553..." and
+ * "553..." are the same number. Not thread-safe; {@link ContactSearchIndex} guards access.
+ */
+final class PhoneTrie {
+
+    /** Year used for contacts without a birth date. */
+    static final int NO_YEAR = 0;
+
+    private static final int ROOT = 0;
+
+    private int[] children = new int[10 * 1024];
+    private int[] subtreeSizes = new int[1024];
+    private int[][] yearKeys = new int[1024][];
+    private int[][] yearCounts = new int[1024][];
+    private int[][] terminalIds = new int[1024][];
+    private int nodeCount = 1;
+
+    private final Map<Integer, String> phones = new HashMap<>();
+    private final Map<Integer, Integer> years = new HashMap<>();
+
+    /**
+     * Adds or re-indexes a contact.
+     * @param id the contact ID
+     * @param rawPhone the stored phone number
+     * @param birthYear the birth year, or {@link #NO_YEAR}
+     */
+    void put(int id, String rawPhone, int birthYear) {
+        remove(id);
+        String digits = normalize(rawPhone);
+        if (digits.isEmpty()) {
+            return;
+        }
+        phones.put(id, digits);
+        years.put(id, birthYear);
+
+        int node = ROOT;
+        addToNode(node, birthYear, 1);
+        for (int i = 0; i < digits.length(); i++) {
+            int slot = node * 10 + (digits.charAt(i) - '0');
+            if (children[slot] == 0) {
+                // newNode() may grow the children array, so assign after the call
+                int child = newNode();
+                children[slot] = child;
+            }
+            node = children[slot];
+            addToNode(node, birthYear, 1);
+        }
+        terminalIds[node] = insertSorted(terminalIds[node], id);
+    }
+
+    /**
+     * Removes a contact. Emptied nodes are kept and reused by later inserts.
+     * @param id the contact ID
+     */
+    void remove(int id) {
+        String digits = phones.remove(id);
+        if (digits == null) {
+            return;
+        }
+        int birthYear = years.remove(id);
+
+        int node = ROOT;
+        addToNode(node, birthYear, -1);
+        for (int i = 0; i < digits.length(); i++) {
+            node = children[node * 10 + (digits.charAt(i) - '0')];
+            addToNode(node, birthYear, -1);
+        }
+        terminalIds[node] = removeSorted(terminalIds[node], id);
+    }
+
+    /**
+     * Counts contacts whose phone starts with the prefix.
+     * @param prefix phone prefix, with or without the leading 0
+     * @param birthYear year to match, or null for any year
+     * @return number of matching contacts
+     */
+    int count(String prefix, Integer birthYear) {
+        int node = find(normalize(prefix));
+        if (node < 0) {
+            return 0;
+        }
+        return birthYear == null ? subtreeSizes[node] : yearCount(node, birthYear);
+    }
+
+    /**
+     * Finds contacts whose phone starts with the prefix.
+     * @param prefix phone prefix, with or without the leading 0
+     * @param birthYear year to match, or null for any year
+     * @param limit maximum number of IDs to return
+     * @return contact IDs in phone number order
+     */
+    int[] search(String prefix, Integer birthYear, int limit) {
+        int node = find(normalize(prefix));
+        if (node < 0) {
+            return new int[0];
+        }
+        int total = birthYear == null ? subtreeSizes[node] : yearCount(node, birthYear);
+        int[] result = new int[Math.min(total, limit)];
+        int n = collect(node, birthYear, result, 0);
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Depth-first walk in digit order, skipping subtrees without the requested year.
+     * @return the number of IDs written to out
+     */
+    private int collect(int node, Integer birthYear, int[] out, int n) {
+        int[] ids = terminalIds[node];
+        if (ids != null) {
+            for (int i = 1; i <= ids[0] && n < out.length; i++) {
+                if (birthYear == null || years.get(ids[i]) == birthYear.intValue()) {
+                    out[n++] = ids[i];
+                }
+            }
+        }
+        for (int digit = 0; digit < 10 && n < out.length; digit++) {
+            int child = children[node * 10 + digit];
+            if (child == 0 || subtreeSizes[child] == 0) {
+                continue;
+            }
+            if (birthYear != null && yearCount(child, birthYear) == 0) {
+                continue;
+            }
+            n = collect(child, birthYear, out, n);
+        }
+        return n;
+    }
+
+    private int find(String digits) {
+        int node = ROOT;
+        for (int i = 0; i < digits.length(); i++) {
+            node = children[node * 10 + (digits.charAt(i) - '0')];
+            if (node == 0) {
+                return -1;
+            }
+        }
+        return node;
+    }
+
+    int size() {
+        return subtreeSizes[ROOT];
+    }
+
+    private int newNode() {
+        if (nodeCount == subtreeSizes.length) {
+            int capacity = nodeCount * 2;
+            children = Arrays.copyOf(children, capacity * 10);
+            subtreeSizes = Arrays.copyOf(subtreeSizes, capacity);
+            yearKeys = Arrays.copyOf(yearKeys, capacity);
+            yearCounts = Arrays.copyOf(yearCounts, capacity);
+            terminalIds = Arrays.copyOf(terminalIds, capacity);
+        }
+        return nodeCount++;
+    }
+
+    /**
+     * Adjusts the contact count of a node and its count for one birth year.
+     * Year counts are kept as parallel sorted arrays per node.
+     */
+    private void addToNode(int node, int birthYear, int delta) {
+        subtreeSizes[node] += delta;
+        int[] keys = yearKeys[node];
+        int pos = keys == null ? -1 : Arrays.binarySearch(keys, birthYear);
+        if (pos >= 0) {
+            yearCounts[node][pos] += delta;
+            return;
+        }
+        if (delta < 0) {
+            return;
+        }
+        int insert = -pos - 1;
+        int length = keys == null ? 0 : keys.length;
+        int[] newKeys = new int[length + 1];
+        int[] newCounts = new int[length + 1];
+        if (keys != null) {
+            System.arraycopy(keys, 0, newKeys, 0, insert);
+            System.arraycopy(keys, insert, newKeys, insert + 1, length - insert);
+            System.arraycopy(yearCounts[node], 0, newCounts, 0, insert);
+            System.arraycopy(yearCounts[node], insert, newCounts, insert + 1, length - insert);
+        }
+        newKeys[insert] = birthYear;
+        newCounts[insert] = delta;
+        yearKeys[node] = newKeys;
+        yearCounts[node] = newCounts;
+    }
+
+    private int yearCount(int node, int birthYear) {
+        int[] keys = yearKeys[node];
+        if (keys == null) {
+            return 0;
+        }
+        int pos = Arrays.binarySearch(keys, birthYear);
+        return pos >= 0 ? yearCounts[node][pos] : 0;
+    }
+
+    /**
+     * Inserts into a sorted ID array whose element 0 holds the number of IDs.
+     */
+    private static int[] insertSorted(int[] ids, int id) {
+        if (ids == null) {
+            return new int[] { 1, id };
+        }
+        int size = ids[0];
+        int pos = Arrays.binarySearch(ids, 1, size + 1, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        int insert = -pos - 1;
+        if (size + 1 == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        System.arraycopy(ids, insert, ids, insert + 1, size + 1 - insert);
+        ids[insert] = id;
+        ids[0] = size + 1;
+        return ids;
+    }
+
+    private static int[] removeSorted(int[] ids, int id) {
+        if (ids == null) {
+            return null;
+        }
+        int size = ids[0];
+        int pos = Arrays.binarySearch(ids, 1, size + 1, id);
+        if (pos < 0) {
+            return ids;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos);
+        ids[0] = size - 1;
+        return ids[0] == 0 ? null : ids;
+    }
+
+    /**
+     * Keeps digits only and drops one leading trunk 0, see {@link SearchKeys#phoneDigits(String)}.
+     */
+    static String normalize(String phone) {
+        return SearchKeys.phoneDigits(phone);
+    }
+}
@@ -0,0 +1,87 @@
+package search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of contact IDs backed by a primitive int array.
+ * IDs mostly arrive in increasing order (initial load, new inserts), so add()
+ * is usually an append; updates and deletes use binary search.
+ */
+final class PostingList {
+
+    private int[] ids = new int[4];
+    private int size;
+
+    void add(int id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            insertAt(-pos - 1, id);
+            return;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    private void insertAt(int index, int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+
+    void remove(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Keeps only the IDs of the given sorted array that are also in this list.
+     * @param candidates sorted IDs
+     * @return sorted intersection
+     */
+    int[] retainAll(int[] candidates) {
+        int[] result = new int[Math.min(candidates.length, size)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < candidates.length && j < size) {
+            int a = candidates[i];
+            int b = ids[j];
+            if (a == b) {
+                result[n++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                // Gallop through long lists instead of stepping one ID at a time
+                int pos = Arrays.binarySearch(ids, j, size, a);
+                j = pos >= 0 ? pos : -pos - 1;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+}
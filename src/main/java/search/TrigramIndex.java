@@ -0,0 +1,137 @@
+package search;
+
+import util.SearchKeys;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from character trigrams to contact IDs for one text field.
+ * A substring query of three or more characters is answered by intersecting the
+ * posting lists of its trigrams (shortest first) and then checking the few
+ * remaining candidates against the stored value, so false positives never escape.
+ * Shorter queries have no trigram and are answered by scanning the stored values.
+ * Values and queries are folded with {@link SearchKeys}, the same folding as the
+ * first_name_key / last_name_key columns, so index and SQL searches agree.
+ * Not thread-safe; {@link ContactSearchIndex} guards access with a read-write lock.
+ */
+final class TrigramIndex {
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Integer, String> values = new HashMap<>();
+
+    /**
+     * Indexes (or re-indexes) the value of a contact.
+     * @param id the contact ID
+     * @param rawValue the field value, may be null
+     */
+    void put(int id, String rawValue) {
+        remove(id);
+        String value = SearchKeys.fold(rawValue);
+        if (value.isEmpty()) {
+            return;
+        }
+        values.put(id, value);
+        for (long trigram : trigrams(value)) {
+            postings.computeIfAbsent(trigram, k -> new PostingList()).add(id);
+        }
+    }
+
+    /**
+     * Removes a contact from the index.
+     * @param id the contact ID
+     */
+    void remove(int id) {
+        String old = values.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (long trigram : trigrams(old)) {
+            PostingList list = postings.get(trigram);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds contacts whose value contains the query, ignoring case and accents.
+     * @param rawQuery the substring to look for
+     * @return sorted contact IDs
+     */
+    int[] search(String rawQuery) {
+        String query = SearchKeys.fold(rawQuery);
+        if (query.isEmpty()) {
+            return allIds();
+        }
+        if (query.length() < 3) {
+            return scan(query);
+        }
+
+        Set<Long> grams = trigrams(query);
+        PostingList[] lists = new PostingList[grams.size()];
+        int n = 0;
+        for (long trigram : grams) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists[n++] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+        int[] candidates = lists[0].toArray();
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = lists[i].retainAll(candidates);
+        }
+
+        int[] result = new int[candidates.length];
+        int count = 0;
+        for (int id : candidates) {
+            if (values.get(id).contains(query)) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private int[] scan(String query) {
+        int[] result = new int[values.size()];
+        int count = 0;
+        for (Map.Entry<Integer, String> e : values.entrySet()) {
+            if (e.getValue().contains(query)) {
+                result[count++] = e.getKey();
+            }
+        }
+        int[] ids = Arrays.copyOf(result, count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private int[] allIds() {
+        int[] ids = values.keySet().stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Distinct trigrams of a folded value, each packed into a long (three UTF-16 units).
+     */
+    private static Set<Long> trigrams(String value) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= value.length(); i++) {
+            grams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,422 @@
+package service;
+
+import dao.ContactDAO;
+import model.Contact;
+import util.CsvReader;
+import util.CsvWriter;
+import util.DateUtil;
+import util.InputHelper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports contacts from a CSV or TSV file without holding the file in memory.
+ *
+ * The file is read as a pipeline of three stages:
+ * <ol>
+ *   <li>the calling thread reads records in chunks of -Dimport.chunkSize (default 500),</li>
+ *   <li>a pool of -Dimport.threads validators (default: one per core) checks every chunk with the
+ *       same rules as the interactive forms in {@link InputHelper} and {@link DateUtil},</li>
+ *   <li>one insert thread takes the validated chunks in file order and passes the valid contacts to
+ *       {@link ContactDAO#insertContacts}, which commits them in batches.</li>
+ * </ol>
+ * The stages are connected by a bounded queue of pending chunks, so the reader waits whenever
+ * validation or the database falls behind and at most a few chunks are in memory at once.
+ * Rejected records are written to an error file with their line number, the reasons and the
+ * original text.
+ *
+ * The first record must be a header naming the columns: first_name, last_name, phone_number
+ * and email are required; nickname, linkedin_url and birth_date are optional and may be left
+ * empty. Unlike the add contact form, the birth date may be missing.
+ */
+public class ContactImportService {
+
+    private static final int CHUNK_SIZE = Integer.getInteger("import.chunkSize", 500);
+    private static final int THREADS = Integer.getInteger("import.threads",
+            Runtime.getRuntime().availableProcessors());
+
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("first_name", "last_name", "phone_number", "email");
+    private static final List<String> OPTIONAL_COLUMNS =
+            List.of("nickname", "linkedin_url", "birth_date");
+
+    /** Marks the end of the pending chunk queue. */
+    private static final Future<Chunk> END = CompletableFuture.completedFuture(null);
+
+    private final ContactDAO contactDAO = new ContactDAO();
+
+    /**
+     * Outcome of an import.
+     */
+    public static final class Result {
+        private final int read;
+        private final int inserted;
+        private final int rejected;
+        private final boolean completed;
+        private final double seconds;
+
+        Result(int read, int inserted, int rejected, boolean completed, double seconds) {
+            this.read = read;
+            this.inserted = inserted;
+            this.rejected = rejected;
+            this.completed = completed;
+            this.seconds = seconds;
+        }
+
+        /** @return data records read, not counting the header */
+        public int getRead() { return read; }
+        public int getInserted() { return inserted; }
+        /** @return records written to the error file */
+        public int getRejected() { return rejected; }
+        /** @return false if the file could not be read to the end or the insert failed */
+        public boolean isCompleted() { return completed; }
+        public double getSeconds() { return seconds; }
+    }
+
+    /** Validation result of one chunk of records. */
+    private static final class Chunk {
+        final List<Contact> valid = new ArrayList<>();
+        final List<String[]> rejected = new ArrayList<>();
+    }
+
+    /**
+     * Imports a file, printing progress to standard output.
+     * @param input CSV file, or TSV if the name ends with .tsv or .tab
+     * @param errorFile receives the rejected records as CSV (line, errors, record)
+     * @return what was imported
+     */
+    public Result importFile(Path input, Path errorFile) {
+        long start = System.nanoTime();
+        ExecutorService validators = Executors.newFixedThreadPool(THREADS, daemonThreads("import-validate"));
+        BlockingQueue<Future<Chunk>> pending = new ArrayBlockingQueue<>(THREADS * 2);
+        AtomicBoolean insertFailed = new AtomicBoolean();
+        AtomicBoolean chunkLost = new AtomicBoolean();
+        AtomicInteger inserted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        int read = 0;
+        boolean readCompleted = false;
+
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(input, StandardCharsets.UTF_8),
+                     CsvReader.delimiterFor(input.getFileName().toString()));
+             BufferedWriter errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8)) {
+
+            CsvWriter.writeRecord(errors, ',', "line", "errors", "record");
+            CsvReader.Record header = reader.next();
+            Map<String, Integer> columns = header == null ? null : columnIndexes(header);
+            if (columns == null) {
+                System.out.println("Import aborted: the file has no header with the columns "
+                        + String.join(", ", REQUIRED_COLUMNS) + ".");
+                return new Result(0, 0, 0, false, seconds(start));
+            }
+
+            Thread inserter = new Thread(() -> insertChunks(pending, errors, inserted, rejected, insertFailed,
+                    chunkLost), "import-insert");
+            inserter.start();
+            List<CsvReader.Record> records = new ArrayList<>(CHUNK_SIZE);
+            try {
+                CsvReader.Record record;
+                while (!insertFailed.get() && (record = reader.next()) != null) {
+                    records.add(record);
+                    read++;
+                    if (records.size() == CHUNK_SIZE) {
+                        submit(validators, pending, records, columns);
+                        records = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+                readCompleted = !insertFailed.get();
+            } catch (IOException e) {
+                System.out.println("Import stopped after record " + read + ": " + e.getMessage());
+            } finally {
+                if (!records.isEmpty() && !insertFailed.get()) {
+                    submit(validators, pending, records, columns);
+                }
+                putUninterruptibly(pending, END);
+                joinUninterruptibly(inserter);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            validators.shutdownNow();
+        }
+
+        return new Result(read, inserted.get(), rejected.get(),
+                readCompleted && !insertFailed.get() && !chunkLost.get(), seconds(start));
+    }
+
+    private static void submit(ExecutorService validators, BlockingQueue<Future<Chunk>> pending,
+                               List<CsvReader.Record> records, Map<String, Integer> columns) {
+        // blocks while the queue is full: back-pressure from validation and insert
+        putUninterruptibly(pending, validators.submit(() -> validate(records, columns)));
+    }
+
+    /**
+     * Runs on the insert thread: takes validated chunks in file order, writes their rejected
+     * records and feeds their contacts to the batched insert. If the insert fails, the remaining
+     * chunks are still drained so the reader is never left blocked on a full queue.
+     */
+    private void insertChunks(BlockingQueue<Future<Chunk>> pending, Writer errors, AtomicInteger inserted,
+                              AtomicInteger rejected, AtomicBoolean insertFailed, AtomicBoolean chunkLost) {
+        class ValidContacts implements Iterator<Contact> {
+            private Iterator<Contact> current = Collections.emptyIterator();
+            private boolean ended;
+            private int consumed;
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && !ended) {
+                    Chunk chunk = takeChunk(pending, errors, rejected, chunkLost);
+                    if (chunk == null) {
+                        ended = true;
+                    } else {
+                        current = chunk.valid.iterator();
+                    }
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Contact next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                consumed++;
+                return current.next();
+            }
+        }
+        ValidContacts validContacts = new ValidContacts();
+
+        int count = contactDAO.insertContacts(() -> validContacts, (done, rowsPerSecond) ->
+                System.out.printf("Inserted %d contacts (%.0f rows/s)%n", done, rowsPerSecond));
+        inserted.set(count);
+
+        if (count < validContacts.consumed || validContacts.hasNext()) {
+            insertFailed.set(true);
+            System.out.println("Import stopped: inserting into the database failed after " + count + " contacts.");
+            while (!validContacts.ended && takeChunk(pending, errors, rejected, chunkLost) != null) {
+                // drain until the reader has stopped
+            }
+        }
+    }
+
+    /**
+     * @param chunkLost set if a chunk could not be validated at all, so the import is not complete
+     * @return the next validated chunk after writing its rejected records, or null at the end
+     */
+    private static Chunk takeChunk(BlockingQueue<Future<Chunk>> pending, Writer errors, AtomicInteger rejected,
+                                   AtomicBoolean chunkLost) {
+        Chunk chunk;
+        try {
+            chunk = pending.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            // validate() rejects records that throw, so only an Error gets here
+            e.getCause().printStackTrace();
+            if (chunkLost.compareAndSet(false, true)) {
+                System.out.println("Import incomplete: a chunk of up to " + CHUNK_SIZE
+                        + " records could not be validated and was skipped.");
+            }
+            return new Chunk();
+        }
+        if (chunk == null) {
+            return null;
+        }
+        for (String[] reject : chunk.rejected) {
+            try {
+                CsvWriter.writeRecord(errors, ',', reject);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        rejected.addAndGet(chunk.rejected.size());
+        return chunk;
+    }
+
+    private static Chunk validate(List<CsvReader.Record> records, Map<String, Integer> columns) {
+        Chunk chunk = new Chunk();
+        int fieldCount = columns.values().stream().mapToInt(Integer::intValue).max().orElse(0) + 1;
+        for (CsvReader.Record record : records) {
+            List<String> errors = new ArrayList<>();
+            Contact contact = null;
+            if (record.getFields().size() < fieldCount) {
+                errors.add("Expected at least " + fieldCount + " fields, found " + record.getFields().size() + ".");
+            } else {
+                try {
+                    contact = toContact(record.getFields(), columns, errors);
+                } catch (RuntimeException e) {
+                    errors.add("Unexpected error: " + e);
+                }
+            }
+            if (errors.isEmpty()) {
+                chunk.valid.add(contact);
+            } else {
+                chunk.rejected.add(new String[] {
+                        String.valueOf(record.getLineNumber()), String.join("; ", errors), record.getRaw() });
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Validates and normalizes one record like the add contact form does.
+     * @param errors receives a message per invalid field
+     * @return the contact, only meaningful if no errors were added
+     */
+    private static Contact toContact(List<String> fields, Map<String, Integer> columns, List<String> errors) {
+        Contact contact = new Contact();
+
+        String firstName = field(fields, columns, "first_name");
+        String error = InputHelper.checkName(firstName);
+        if (error != null) {
+            errors.add("first_name: " + error);
+        } else {
+            contact.setFirstName(InputHelper.formatName(firstName));
+        }
+
+        String lastName = field(fields, columns, "last_name");
+        error = InputHelper.checkName(lastName);
+        if (error != null) {
+            errors.add("last_name: " + error);
+        } else {
+            contact.setLastName(InputHelper.formatName(lastName));
+        }
+
+        String nickname = field(fields, columns, "nickname");
+        if (!nickname.isEmpty()) {
+            error = InputHelper.checkNickname(nickname);
+            if (error != null) {
+                errors.add("nickname: " + error);
+            } else {
+                contact.setNickname(nickname);
+            }
+        }
+
+        String phone = InputHelper.normalizePhoneTR(field(fields, columns, "phone_number"));
+        if (phone == null) {
+            errors.add("phone_number: " + InputHelper.PHONE_ERROR);
+        } else {
+            contact.setPhoneNumber(phone);
+        }
+
+        String email = field(fields, columns, "email");
+        error = InputHelper.checkEmail(email);
+        if (error != null) {
+            errors.add("email: " + error);
+        } else {
+            contact.setEmail(email);
+        }
+
+        String linkedin = field(fields, columns, "linkedin_url");
+        if (!linkedin.isEmpty()) {
+            String url = InputHelper.normalizeLinkedin(linkedin);
+            if (url == null) {
+                errors.add("linkedin_url: " + InputHelper.LINKEDIN_ERROR);
+            } else {
+                contact.setLinkedinUrl(url);
+            }
+        }
+
+        String birthDate = field(fields, columns, "birth_date");
+        if (!birthDate.isEmpty()) {
+            error = DateUtil.checkDateValidity(birthDate);
+            if (error != null) {
+                errors.add("birth_date: " + error.replace("\n", " "));
+            } else {
+                contact.setBirthDate(DateUtil.parse(birthDate));
+            }
+        }
+        return contact;
+    }
+
+    /**
+     * @return the trimmed field, empty if the column is not in the file
+     */
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null ? "" : fields.get(index).trim();
+    }
+
+    /**
+     * @return column name to field index, or null if a required column is missing
+     */
+    private static Map<String, Integer> columnIndexes(CsvReader.Record header) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = header.getFields();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.ROOT);
+            if (REQUIRED_COLUMNS.contains(name) || OPTIONAL_COLUMNS.contains(name)) {
+                columns.putIfAbsent(name, i);
+            } else if (!name.isEmpty()) {
+                System.out.println("Ignoring unknown column '" + names.get(i) + "'.");
+            }
+        }
+        return columns.keySet().containsAll(REQUIRED_COLUMNS) ? columns : null;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static <T> void putUninterruptibly(BlockingQueue<T> queue, T item) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(item);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
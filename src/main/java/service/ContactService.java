@@ -1,16 +1,28 @@
 package service;
 
 import dao.ContactDAO;
+import dao.ContactFilter;
+import dao.ContactPager;
+import dao.ContactProjection;
+import dao.ContactSortKey;
+import export.ContactExporter;
+import export.ExportFormat;
 import model.Contact;
+import search.ContactSearchIndex;
+import search.ContactSorter;
 import util.InputHelper;
 import util.ConsoleColors;
 import util.DateUtil;
 import undo.UndoManager;
 import undo.UndoAction;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Service class for managing contact operations.
@@ -19,6 +31,15 @@ import java.util.Scanner;
  */
 public class ContactService {
 
+    /** Number of contacts shown per page in the list, search and sort screens. */
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Largest search result that [s] Sort reads into memory, -Dsort.inMemoryLimit;
+     * larger results are not sorted.
+     */
+    private static final int IN_MEMORY_SORT_LIMIT = Integer.getInteger("sort.inMemoryLimit", 100000);
+
     private final ContactDAO contactDAO = new ContactDAO();
     private final UndoManager undoManager;
 
@@ -39,15 +60,19 @@ public class ContactService {
     }
 
     public List<Contact> searchByFirstName(String query) {
-        return contactDAO.searchByFirstName(query);
+        return contactDAO.findContacts(firstNameFilter(query));
     }
 
     public List<Contact> searchByLastName(String query) {
-        return contactDAO.searchByLastName(query);
+        return contactDAO.findContacts(lastNameFilter(query));
     }
 
     public List<Contact> searchByPhoneNumber(String query) {
-        return contactDAO.searchByPhoneContains(query);
+        return contactDAO.findContacts(phoneFilter(query));
+    }
+
+    public List<Contact> searchByPhoneAndEmail(String phonePart, String emailPart) {
+        return contactDAO.findContacts(phoneAndEmailFilter(phonePart, emailPart));
     }
 
     public List<Contact> searchByFirstNameAndBirthMonth(String firstName, int month) {
@@ -55,7 +80,7 @@ public class ContactService {
     }
 
     public List<Contact> searchByPhonePrefixAndBirthYear(String phonePrefix, int year) {
-        return contactDAO.searchByPhonePrefixAndBirthYear(phonePrefix, year);
+        return contactDAO.findContacts(phonePrefixAndBirthYearFilter(phonePrefix, year));
     }
 
     /**
@@ -65,27 +90,295 @@ public class ContactService {
      * @return List of contacts matching the query.
      */
     public List<Contact> searchByFirstAndLastName(String firstNamePart, String lastNamePart) {
-        return contactDAO.searchByFirstAndLastName(firstNamePart, lastNamePart);
+        return contactDAO.findContacts(firstAndLastNameFilter(firstNamePart, lastNamePart));
+    }
+
+    private ContactFilter firstNameFilter(String query) {
+        return searchFilter(ContactFilter.firstNameContains(query),
+                () -> ContactSearchIndex.getInstance().firstNameContains(query));
+    }
+
+    private ContactFilter lastNameFilter(String query) {
+        return searchFilter(ContactFilter.lastNameContains(query),
+                () -> ContactSearchIndex.getInstance().lastNameContains(query));
+    }
+
+    private ContactFilter phoneFilter(String digits) {
+        return searchFilter(ContactFilter.phoneContains(digits),
+                () -> ContactSearchIndex.getInstance().phoneContains(digits));
+    }
+
+    private ContactFilter phoneAndEmailFilter(String phonePart, String emailPart) {
+        return searchFilter(ContactFilter.phoneAndEmailContains(phonePart, emailPart),
+                () -> ContactSearchIndex.getInstance().phoneAndEmailContains(phonePart, emailPart));
+    }
+
+    private ContactFilter firstAndLastNameFilter(String firstPart, String lastPart) {
+        return searchFilter(ContactFilter.firstAndLastNameContains(firstPart, lastPart),
+                () -> ContactSearchIndex.getInstance().firstAndLastNameContains(firstPart, lastPart));
+    }
+
+    private ContactFilter phonePrefixAndBirthYearFilter(String phonePrefix, int year) {
+        return searchFilter(ContactFilter.phonePrefixAndBirthYear(phonePrefix, year),
+                () -> ContactSearchIndex.getInstance().phonePrefixAndBirthYear(phonePrefix, year));
+    }
+
+    /**
+     * Turns a search into the IDs it matches, so pages and exports only read those rows by primary key.
+     * The IDs come from the search result cache if the same search ran since the last write,
+     * else from the in-memory ContactSearchIndex when it is loaded, else from the SQL condition.
+     * @param search the SQL filter of the search, also its cache key
+     * @param index finds the IDs in the search index, or null if the index cannot answer this search
+     * @return an ID filter, or the SQL filter itself if the IDs could not be read
+     */
+    private ContactFilter searchFilter(ContactFilter search, Supplier<int[]> index) {
+        int[] ids = contactDAO.findIds(search, index);
+        return ids != null ? ContactFilter.idIn(ids) : search;
     }
 
     /**
      * Prints a list of contacts to the console.
      */
     public void printContactsList(List<Contact> contacts) {
-        if (contacts == null || contacts.isEmpty()) {
-            System.out.println(ConsoleColors.YELLOW + "\nNo contacts found." + ConsoleColors.RESET);
+        ContactTablePrinter printer = new ContactTablePrinter();
+        if (contacts != null) {
+            contacts.forEach(printer);
+        }
+        printer.finish();
+    }
+
+    /**
+     * Shows all contacts one page at a time, ordered by ID.
+     * @param scanner Scanner for page navigation input
+     */
+    public void displayAllContacts(Scanner scanner) {
+        browseContacts(scanner, ContactFilter.all(), ContactSortKey.ID, true);
+    }
+
+    /**
+     * Lists all contacts for the user to pick one to update or delete.
+     * The pages are read with every column, which puts the shown contacts into the contact cache,
+     * so reading the picked contact afterwards does not query the database again.
+     * @param scanner Scanner for page navigation input
+     */
+    private void browseContactsToPick(Scanner scanner) {
+        browseContacts(scanner, contactDAO.pager(ContactFilter.all(), ContactSortKey.ID, true, PAGE_SIZE,
+                ContactProjection.FULL), ContactFilter.all());
+    }
+
+    /**
+     * Shows the contacts matching the filter one page at a time.
+     * The user moves with 'n' (next) and 'p' (previous), 's' sorts the matching contacts in memory,
+     * 'e' exports all matching contacts in ID order; Enter leaves the listing.
+     * @param scanner Scanner for page navigation input
+     * @param filter the search condition
+     * @param sortKey the sort column
+     * @param ascending true for ascending order, false for descending
+     */
+    private void browseContacts(Scanner scanner, ContactFilter filter, ContactSortKey sortKey, boolean ascending) {
+        browseContacts(scanner, contactDAO.pager(filter, sortKey, ascending, PAGE_SIZE), filter);
+    }
+
+    private void browseContacts(Scanner scanner, ContactPager pager, ContactFilter filter) {
+        List<Contact> page = pager.first();
+
+        while (true) {
+            ContactTablePrinter printer = new ContactTablePrinter();
+            page.forEach(printer);
+            printer.finishPage(pager);
+
+            if (page.isEmpty()) {
+                return;
+            }
+
+            StringBuilder prompt = new StringBuilder(ConsoleColors.YELLOW);
+            if (pager.hasNext()) {
+                prompt.append("[n] Next page  ");
+            }
+            if (pager.hasPrevious()) {
+                prompt.append("[p] Previous page  ");
+            }
+            prompt.append("[s] Sort  [e] Export  [Enter] Done: ").append(ConsoleColors.RESET);
+
+            String input = InputHelper.readLine(scanner, prompt.toString()).toLowerCase();
+            if (input.isEmpty()) {
+                return;
+            } else if (input.equals("n") && pager.hasNext()) {
+                page = pager.next();
+            } else if (input.equals("p") && pager.hasPrevious()) {
+                page = pager.previous();
+            } else if (input.equals("s")) {
+                sortResultsInteractive(scanner, filter);
+                return;
+            } else if (input.equals("e")) {
+                exportContactsInteractive(scanner, filter);
+            } else {
+                System.out.println(ConsoleColors.RED + "Invalid choice." + ConsoleColors.RESET);
+            }
+        }
+    }
+
+    /**
+     * Reads the contacts matching the filter once and shows them one page at a time in the
+     * order the user picks. Choosing another order ('s') sorts the rows already read with
+     * {@link ContactSorter} instead of querying the database again.
+     * The size of the result is checked first: results larger than -Dsort.inMemoryLimit are
+     * not read at all, and the user is asked to narrow the search instead.
+     * @param scanner Scanner for user input
+     * @param filter the search condition of the listing
+     */
+    private void sortResultsInteractive(Scanner scanner, ContactFilter filter) {
+        int matched = contactDAO.countContacts(filter);
+        if (matched > IN_MEMORY_SORT_LIMIT) {
+            System.out.println(ConsoleColors.YELLOW + matched + " contacts match; results of up to "
+                    + IN_MEMORY_SORT_LIMIT + " contacts can be sorted here. Narrow the search, "
+                    + "or use the sort menu to sort all contacts by one field." + ConsoleColors.RESET);
             return;
         }
+        ContactSortKey[] keys = readSortKeys(scanner);
+        boolean ascending = readAscending(scanner);
 
-        System.out.println(ConsoleColors.BLUE + "\nCONTACTS LIST" + ConsoleColors.RESET);
-        System.out.printf(
-                ConsoleColors.YELLOW + "%-5s %-15s %-15s %-15s %-12s %-40s %-40s%n",
-                "ID", "FIRST NAME", "LAST NAME", "PHONE", "BIRTH DATE", "EMAIL", "LINKEDIN URL" + ConsoleColors.RESET);
-        System.out.println(ConsoleColors.WHITE +
-                "----------------------------------------------------------------------------------------------------------------------------------------------------------------"
-                + ConsoleColors.RESET);
+        List<Contact> contacts = new ArrayList<>(matched);
+        int read = contactDAO.forEachContact(filter, ContactProjection.LIST, contact -> {
+            if (contacts.size() < IN_MEMORY_SORT_LIMIT) {
+                contacts.add(contact);
+            }
+        });
+        if (read < 0 || read > IN_MEMORY_SORT_LIMIT) {
+            System.out.println(ConsoleColors.RED + "Reading the contacts failed or the result changed; "
+                    + "run the search again." + ConsoleColors.RESET);
+            return;
+        }
+
+        ContactSorter sorter = new ContactSorter(contacts);
+        int[] order = sorter.sort(ascending, keys);
+        int pageStart = 0;
+
+        while (true) {
+            int pageEnd = Math.min(pageStart + PAGE_SIZE, order.length);
+            ContactTablePrinter printer = new ContactTablePrinter();
+            for (int i = pageStart; i < pageEnd; i++) {
+                printer.accept(sorter.get(order[i]));
+            }
+            printer.finishPage(pageStart / PAGE_SIZE + 1, pageEnd < order.length);
+
+            if (order.length == 0) {
+                return;
+            }
+
+            StringBuilder prompt = new StringBuilder(ConsoleColors.YELLOW);
+            if (pageEnd < order.length) {
+                prompt.append("[n] Next page  ");
+            }
+            if (pageStart > 0) {
+                prompt.append("[p] Previous page  ");
+            }
+            prompt.append("[s] Sort  [e] Export  [Enter] Done: ").append(ConsoleColors.RESET);
+
+            String input = InputHelper.readLine(scanner, prompt.toString()).toLowerCase();
+            if (input.isEmpty()) {
+                return;
+            } else if (input.equals("n") && pageEnd < order.length) {
+                pageStart = pageEnd;
+            } else if (input.equals("p") && pageStart > 0) {
+                pageStart -= PAGE_SIZE;
+            } else if (input.equals("s")) {
+                keys = readSortKeys(scanner);
+                ascending = readAscending(scanner);
+                order = sorter.sort(ascending, keys);
+                pageStart = 0;
+            } else if (input.equals("e")) {
+                exportContactsInteractive(scanner, filter);
+            } else {
+                System.out.println(ConsoleColors.RED + "Invalid choice." + ConsoleColors.RESET);
+            }
+        }
+    }
+
+    /**
+     * Asks for the order of a sorted search result.
+     * @return sort keys, most significant first
+     */
+    private static ContactSortKey[] readSortKeys(Scanner scanner) {
+        System.out.println(ConsoleColors.WHITE + "1 - Last name, first name");
+        System.out.println("2 - First name, last name");
+        System.out.println("3 - Phone number");
+        System.out.println("4 - Birth date" + ConsoleColors.RESET);
+
+        int choice = InputHelper.readIntInRange(scanner, "Sort by: ", 1, 4);
+        switch (choice) {
+            case 1:
+                return new ContactSortKey[] {ContactSortKey.LAST_NAME, ContactSortKey.FIRST_NAME};
+            case 2:
+                return new ContactSortKey[] {ContactSortKey.FIRST_NAME, ContactSortKey.LAST_NAME};
+            case 3:
+                return new ContactSortKey[] {ContactSortKey.PHONE};
+            default:
+                return new ContactSortKey[] {ContactSortKey.BIRTH_DATE};
+        }
+    }
+
+    /**
+     * @return true if the user picks ascending order
+     */
+    private static boolean readAscending(Scanner scanner) {
+        System.out.println(ConsoleColors.YELLOW + "\nOrder:");
+        System.out.println("1 - Ascending");
+        System.out.println("2 - Descending" + ConsoleColors.RESET);
+
+        int order = InputHelper.readIntInRange(scanner, "Choice: ", 1, 2);
+        return order == 1;
+    }
+
+    /**
+     * Exports every contact matching the filter (not only the current page) to a file.
+     * The format is asked for; a file name ending in .gz is gzip compressed.
+     * @param scanner Scanner for user input
+     * @param filter the search condition of the listing
+     */
+    private void exportContactsInteractive(Scanner scanner, ContactFilter filter) {
+        ExportFormat format = null;
+        while (format == null) {
+            String name = InputHelper.readLine(scanner,
+                    ConsoleColors.WHITE + "Format (csv, jsonl, vcf): " + ConsoleColors.RESET);
+            format = ExportFormat.parse(name);
+            if (format == null) {
+                System.out.println(ConsoleColors.RED + "Unknown format." + ConsoleColors.RESET);
+            }
+        }
+        String defaultName = "contacts." + format.getExtension();
+        String fileName = InputHelper.readLine(scanner, ConsoleColors.WHITE + "File name (Enter for "
+                + defaultName + ", add .gz to compress): " + ConsoleColors.RESET);
+        if (fileName.isEmpty()) {
+            fileName = defaultName;
+        }
+
+        ContactExporter.Result result = new ContactExporter().export(filter, format, Path.of(fileName),
+                fileName.endsWith(".gz"));
+        if (result == null) {
+            System.out.println(ConsoleColors.RED + "Export to " + fileName + " failed." + ConsoleColors.RESET);
+            return;
+        }
+        System.out.printf("%sExported %d contact(s) to %s (%d KB, %.0f contacts/s).%s%n", ConsoleColors.GREEN,
+                result.getContacts(), fileName, result.getBytes() / 1024, result.getContactsPerSecond(),
+                ConsoleColors.RESET);
+    }
+
+    /**
+     * Prints contacts row by row. The table header is printed with the first row,
+     * and finish() prints the total (or "No contacts found.").
+     */
+    private static final class ContactTablePrinter implements Consumer<Contact> {
+
+        private int count;
+
+        @Override
+        public void accept(Contact contact) {
+            if (count == 0) {
+                printHeader();
+            }
+            count++;
 
-        for (Contact contact : contacts) {
             int id = contact.getContactId();
             String firstName = contact.getFirstName() != null ? contact.getFirstName() : "-";
             String lastName = contact.getLastName() != null ? contact.getLastName() : "-";
@@ -97,16 +390,40 @@ public class ContactService {
             System.out.printf(ConsoleColors.CYAN + "%-5d %-15s %-15s %-15s %-12s %-40s %-40s%n" + ConsoleColors.RESET,
                     id, firstName, lastName,
                     phone, birthDate, email, url);
+        }
 
+        private void printHeader() {
+            System.out.println(ConsoleColors.BLUE + "\nCONTACTS LIST" + ConsoleColors.RESET);
+            System.out.printf(
+                    ConsoleColors.YELLOW + "%-5s %-15s %-15s %-15s %-12s %-40s %-40s%n",
+                    "ID", "FIRST NAME", "LAST NAME", "PHONE", "BIRTH DATE", "EMAIL", "LINKEDIN URL" + ConsoleColors.RESET);
+            System.out.println(ConsoleColors.WHITE +
+                    "----------------------------------------------------------------------------------------------------------------------------------------------------------------"
+                    + ConsoleColors.RESET);
         }
 
-        System.out.println(
-                ConsoleColors.GREEN + "\nTotal " + contacts.size() + " contact(s) found." + ConsoleColors.RESET);
-    }
+        void finish() {
+            if (count == 0) {
+                System.out.println(ConsoleColors.YELLOW + "\nNo contacts found." + ConsoleColors.RESET);
+                return;
+            }
+            System.out.println(
+                    ConsoleColors.GREEN + "\nTotal " + count + " contact(s) found." + ConsoleColors.RESET);
+        }
 
-    public void displayAllContacts() {
-        List<Contact> contacts = getAllContacts();
-        printContactsList(contacts);
+        void finishPage(ContactPager pager) {
+            finishPage(pager.getPageNumber(), pager.hasNext());
+        }
+
+        void finishPage(int pageNumber, boolean hasNext) {
+            if (count == 0) {
+                System.out.println(ConsoleColors.YELLOW + "\nNo contacts found." + ConsoleColors.RESET);
+                return;
+            }
+            String more = hasNext ? ", more available" : "";
+            System.out.println(ConsoleColors.GREEN + "\nPage " + pageNumber + " - " + count
+                    + " contact(s) shown" + more + "." + ConsoleColors.RESET);
+        }
     }
 
     /**
@@ -121,12 +438,13 @@ public class ContactService {
         System.out.println("5 - Search by birth year");
         System.out.println("6 - First name + birth month");
         System.out.println("7 - Phone prefix + birth year");
-        System.out.println("8 - First name + last name" + ConsoleColors.RESET);
+        System.out.println("8 - First name + last name");
+        System.out.println("9 - First name starts with" + ConsoleColors.RESET);
         System.out.println(ConsoleColors.RED + "0 - Cancel" + ConsoleColors.RESET);
 
-        int choice = InputHelper.readIntInRange(scanner, ConsoleColors.YELLOW + "Choice: " + ConsoleColors.RESET, 0, 8);
+        int choice = InputHelper.readIntInRange(scanner, ConsoleColors.YELLOW + "Choice: " + ConsoleColors.RESET, 0, 9);
 
-        List<Contact> results;
+        ContactFilter filter;
 
         switch (choice) {
             case 0:
@@ -135,31 +453,31 @@ public class ContactService {
             case 1: {
                 String first = InputHelper.readValidName(scanner,
                         ConsoleColors.WHITE + "First name contains: " + ConsoleColors.RESET);
-                results = searchByFirstName(first);
+                filter = firstNameFilter(first);
                 break;
             }
             case 2: {
                 String last = InputHelper.readValidName(scanner,
                         ConsoleColors.WHITE + "Last name contains: " + ConsoleColors.RESET);
-                results = searchByLastName(last);
+                filter = lastNameFilter(last);
                 break;
             }
             case 3: {
                 String phone = InputHelper.readLine(scanner,
                         ConsoleColors.WHITE + "Phone number contains: " + ConsoleColors.RESET);
-                results = searchByPhoneNumber(phone);
+                filter = phoneFilter(phone);
                 break;
             }
             case 4: {
                 int month = InputHelper.readIntInRange(scanner,
                         ConsoleColors.WHITE + "Birth month (1-12): " + ConsoleColors.RESET, 1, 12);
-                results = contactDAO.searchByBirthMonth(month);
+                filter = searchFilter(ContactFilter.birthMonth(month), null);
                 break;
             }
             case 5: {
                 int year = InputHelper.readIntInRange(scanner,
                         ConsoleColors.WHITE + "Birth year (e.g., 1990): " + ConsoleColors.RESET, 1900, 2100);
-                results = contactDAO.searchByBirthYear(year);
+                filter = searchFilter(ContactFilter.birthYear(year), null);
                 break;
             }
             case 6: {
@@ -167,15 +485,20 @@ public class ContactService {
                         ConsoleColors.WHITE + "First name: " + ConsoleColors.RESET);
                 int month = InputHelper.readIntInRange(scanner,
                         ConsoleColors.WHITE + "Birth month (1-12): " + ConsoleColors.RESET, 1, 12);
-                results = searchByFirstNameAndBirthMonth(first, month);
+                filter = searchFilter(ContactFilter.firstNameContainsAndBirthMonth(first, month), null);
                 break;
             }
             case 7: {
                 String prefix = InputHelper.readLine(scanner,
                         ConsoleColors.WHITE + "Phone number prefix: " + ConsoleColors.RESET);
+                int prefixMatches = ContactSearchIndex.getInstance().countPhonePrefix(prefix, null);
+                if (prefixMatches >= 0) {
+                    System.out.println(ConsoleColors.CYAN + prefixMatches + " contact(s) with this prefix."
+                            + ConsoleColors.RESET);
+                }
                 int year = InputHelper.readIntInRange(scanner,
                         ConsoleColors.WHITE + "Birth year (e.g., 1990): " + ConsoleColors.RESET, 1900, 2100);
-                results = searchByPhonePrefixAndBirthYear(prefix, year);
+                filter = phonePrefixAndBirthYearFilter(prefix, year);
                 break;
             }
             case 8: {
@@ -183,7 +506,13 @@ public class ContactService {
                         ConsoleColors.WHITE + "First name contains: " + ConsoleColors.RESET);
                 String lastPart = InputHelper.readValidName(scanner,
                         ConsoleColors.WHITE + "Last name contains: " + ConsoleColors.RESET);
-                results = searchByFirstAndLastName(firstPart, lastPart);
+                filter = firstAndLastNameFilter(firstPart, lastPart);
+                break;
+            }
+            case 9: {
+                String prefix = InputHelper.readValidName(scanner,
+                        ConsoleColors.WHITE + "First name starts with: " + ConsoleColors.RESET);
+                filter = searchFilter(ContactFilter.firstNameStartsWith(prefix), null);
                 break;
             }
             default:
@@ -191,7 +520,7 @@ public class ContactService {
                 return;
         }
 
-        printContactsList(results);
+        browseContacts(scanner, filter, ContactSortKey.ID, true);
     }
 
     /**
@@ -211,33 +540,27 @@ public class ContactService {
             return;
         }
 
-        String sortField;
+        ContactSortKey sortKey;
         switch (field) {
             case 1:
-                sortField = "first_name";
+                sortKey = ContactSortKey.FIRST_NAME;
                 break;
             case 2:
-                sortField = "last_name";
+                sortKey = ContactSortKey.LAST_NAME;
                 break;
             case 3:
-                sortField = "phone_number";
+                sortKey = ContactSortKey.PHONE;
                 break;
             case 4:
-                sortField = "birth_date";
+                sortKey = ContactSortKey.BIRTH_DATE;
                 break;
             default:
                 System.out.println(ConsoleColors.RED + "Invalid choice." + ConsoleColors.RESET);
                 return;
         }
 
-        System.out.println(ConsoleColors.YELLOW + "\nOrder:");
-        System.out.println("1 - Ascending");
-        System.out.println("2 - Descending" + ConsoleColors.RESET);
-
-        int order = InputHelper.readIntInRange(scanner, "Choice: ", 1, 2);
-        boolean ascending = (order == 1);
-        List<Contact> contacts = getAllSorted(sortField, ascending);
-        printContactsList(contacts);
+        boolean ascending = readAscending(scanner);
+        browseContacts(scanner, ContactFilter.all(), sortKey, ascending);
     }
 
     /**
@@ -246,7 +569,7 @@ public class ContactService {
     public void updateContactInteractive(Scanner scanner) {
         System.out.println(ConsoleColors.CYAN + "\n=== Update Contact ===" + ConsoleColors.RESET);
 
-        displayAllContacts();
+        browseContactsToPick(scanner);
 
         int id = InputHelper.readIntInRange(scanner,
                 ConsoleColors.YELLOW + "Contact ID to update (0 = cancel): " + ConsoleColors.RESET, 0,
@@ -499,7 +822,7 @@ public class ContactService {
     public void deleteContactInteractive(Scanner scanner) {
         System.out.println(ConsoleColors.BLUE + "\n=== Delete Contact ===" + ConsoleColors.RESET);
 
-        displayAllContacts();
+        browseContactsToPick(scanner);
 
         int id = InputHelper.readIntInRange(scanner,
                 ConsoleColors.YELLOW + "Contact ID to delete (0 = cancel): " + ConsoleColors.RESET, 0,
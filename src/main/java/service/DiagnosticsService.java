@@ -0,0 +1,145 @@
+package service;
+
+import dao.ConnectionPool;
+import dao.ContactCache;
+import dao.ContactDAO;
+import dao.DatabaseConnection;
+import dao.SearchResultCache;
+import dao.StringCanonicalizer;
+import snapshot.ContactSnapshot;
+import stats.ContactStatsCache;
+import store.ContactStore;
+import store.LiveContactStore;
+import util.ConsoleColors;
+
+import java.time.Instant;
+
+/**
+ * Service class for runtime diagnostics.
+ * Prints connection pool and cache metrics for the Manager role.
+ */
+public class DiagnosticsService {
+
+    /**
+     * Displays runtime performance metrics.
+     */
+    public void displayDiagnostics() {
+        System.out.println(ConsoleColors.BLUE + "\n=== SYSTEM DIAGNOSTICS ===\n" + ConsoleColors.RESET);
+
+        ConnectionPool pool = DatabaseConnection.getPool();
+        System.out.println(ConsoleColors.YELLOW + "Connection Pool:" + ConsoleColors.RESET);
+        System.out.printf("%sSize (min/max)      : %d / %d%s%n",
+                ConsoleColors.WHITE, pool.getMinSize(), pool.getMaxSize(), ConsoleColors.RESET);
+        System.out.printf("%sOpen / idle / in use: %d / %d / %d%s%n",
+                ConsoleColors.WHITE, pool.getTotalCount(), pool.getIdleCount(), pool.getActiveCount(),
+                ConsoleColors.RESET);
+        System.out.printf("%sBorrows             : %d (timeouts: %d)%s%n",
+                ConsoleColors.WHITE, pool.getBorrowCount(), pool.getTimeoutCount(), ConsoleColors.RESET);
+        System.out.printf("%sBorrow wait avg/max : %.3f ms / %.3f ms%s%n",
+                ConsoleColors.WHITE, pool.getAverageWaitMillis(), pool.getMaxWaitMillis(), ConsoleColors.RESET);
+        System.out.printf("%sOpened / closed     : %d / %d (failed validations: %d)%s%n",
+                ConsoleColors.WHITE, pool.getCreatedCount(), pool.getDestroyedCount(),
+                pool.getValidationFailureCount(), ConsoleColors.RESET);
+        System.out.printf("%sSuspected leaks     : %d%s%n%n",
+                ConsoleColors.WHITE, pool.getLeakCount(), ConsoleColors.RESET);
+
+        long hits = pool.getStatementCacheHits();
+        long misses = pool.getStatementCacheMisses();
+        System.out.println(ConsoleColors.YELLOW + "Prepared Statement Cache:" + ConsoleColors.RESET);
+        System.out.printf("%sCapacity/connection : %d%s%n",
+                ConsoleColors.WHITE, pool.getStatementCacheSize(), ConsoleColors.RESET);
+        System.out.printf("%sHits / misses       : %d / %d (hit rate %s)%s%n",
+                ConsoleColors.WHITE, hits, misses, formatRate(hits, misses), ConsoleColors.RESET);
+        System.out.printf("%sEvictions           : %d%s%n%n",
+                ConsoleColors.WHITE, pool.getStatementCacheEvictions(), ConsoleColors.RESET);
+
+        ContactCache contactCache = ContactDAO.getContactCache();
+        System.out.println(ConsoleColors.YELLOW + "Contact Cache:" + ConsoleColors.RESET);
+        System.out.printf("%sEntries / memory    : %d / %d of %d KB%s%n",
+                ConsoleColors.WHITE, contactCache.getSize(), contactCache.getBytes() / 1024,
+                contactCache.getMaxBytes() / 1024, ConsoleColors.RESET);
+        System.out.printf("%sHits / misses       : %d / %d (hit rate %s)%s%n",
+                ConsoleColors.WHITE, contactCache.getHitCount(), contactCache.getMissCount(),
+                formatRate(contactCache.getHitCount(), contactCache.getMissCount()), ConsoleColors.RESET);
+        System.out.printf("%sEvictions / stale   : %d / %d (updated_at validation %s)%s%n%n",
+                ConsoleColors.WHITE, contactCache.getEvictionCount(), contactCache.getStaleHitCount(),
+                contactCache.isValidating() ? "on" : "off", ConsoleColors.RESET);
+
+        SearchResultCache searchCache = ContactDAO.getSearchCache();
+        System.out.println(ConsoleColors.YELLOW + "Search Result Cache:" + ConsoleColors.RESET);
+        System.out.printf("%sEntries             : %d of %d%s%n",
+                ConsoleColors.WHITE, searchCache.getSize(), searchCache.getMaxEntries(), ConsoleColors.RESET);
+        System.out.printf("%sHits / misses       : %d / %d (hit rate %s)%s%n",
+                ConsoleColors.WHITE, searchCache.getHitCount(), searchCache.getMissCount(),
+                formatRate(searchCache.getHitCount(), searchCache.getMissCount()), ConsoleColors.RESET);
+        System.out.printf("%sDropped after writes: %d%s%n%n",
+                ConsoleColors.WHITE, searchCache.getInvalidationCount(), ConsoleColors.RESET);
+
+        StringCanonicalizer names = ContactDAO.getNameCanonicalizer();
+        System.out.println(ConsoleColors.YELLOW + "Name Strings:" + ConsoleColors.RESET);
+        System.out.printf("%sSlots               : %d%s%n", ConsoleColors.WHITE, names.getSize(), ConsoleColors.RESET);
+        System.out.printf("%sShared / new        : %d / %d (hit rate %s)%s%n%n",
+                ConsoleColors.WHITE, names.getHitCount(), names.getMissCount(),
+                formatRate(names.getHitCount(), names.getMissCount()), ConsoleColors.RESET);
+
+        ContactStatsCache statsCache = ContactStatsCache.getInstance();
+        long staleness = statsCache.getStalenessMillis();
+        System.out.println(ConsoleColors.YELLOW + "Statistics Cache:" + ConsoleColors.RESET);
+        System.out.printf("%sTTL                 : %d ms%s%n",
+                ConsoleColors.WHITE, statsCache.getTtlMillis(), ConsoleColors.RESET);
+        System.out.printf("%sHits / stale / miss : %d / %d / %d (hit rate %s)%s%n",
+                ConsoleColors.WHITE, statsCache.getHitCount(), statsCache.getStaleHitCount(),
+                statsCache.getMissCount(), formatRate(statsCache.getHitCount() + statsCache.getStaleHitCount(),
+                        statsCache.getMissCount()), ConsoleColors.RESET);
+        System.out.printf("%sSnapshot age        : %s%s%n",
+                ConsoleColors.WHITE, staleness < 0 ? "-" : staleness + " ms" + (statsCache.isFresh() ? "" : " (stale)"),
+                ConsoleColors.RESET);
+        System.out.printf("%sRefreshes           : %d (failed: %d, last took %.3f ms)%s%n%n",
+                ConsoleColors.WHITE, statsCache.getRefreshCount(), statsCache.getRefreshFailureCount(),
+                statsCache.getLastRefreshMillis(), ConsoleColors.RESET);
+
+        ContactStore store = LiveContactStore.getIfLoaded();
+        System.out.println(ConsoleColors.YELLOW + "Contact Store:" + ConsoleColors.RESET);
+        if (store == null) {
+            System.out.printf("%sNot loaded (used by -Dstats.engine=memory)%s%n%n", ConsoleColors.WHITE, ConsoleColors.RESET);
+        } else {
+            long storeBytes = store.footprintBytes();
+            long listBytes = store.listFootprintBytes();
+            System.out.printf("%sRows                : %d (%d merges of later writes)%s%n",
+                    ConsoleColors.WHITE, store.size(), LiveContactStore.getInstance().getMergeCount(), ConsoleColors.RESET);
+            System.out.printf("%sHeap (estimate)     : %d KB, as List<Contact> %d KB (%s)%s%n%n",
+                    ConsoleColors.WHITE, storeBytes / 1024, listBytes / 1024,
+                    listBytes == 0 ? "-" : String.format("%.0f%%", storeBytes * 100.0 / listBytes), ConsoleColors.RESET);
+        }
+
+        ContactSnapshot snapshot = ContactSnapshot.getInstance();
+        System.out.println(ConsoleColors.YELLOW + "Contact Snapshot:" + ConsoleColors.RESET);
+        if (snapshot.getFile() == null) {
+            System.out.printf("%sDisabled (set -Dsnapshot.file)%s%n%n", ConsoleColors.WHITE, ConsoleColors.RESET);
+        } else {
+            System.out.printf("%sFile                : %s%s%n", ConsoleColors.WHITE, snapshot.getFile(), ConsoleColors.RESET);
+            System.out.printf("%sStartup load        : %s%s%n", ConsoleColors.WHITE, snapshot.getLoadMillis() < 0
+                    ? "not used"
+                    : String.format("%.1f ms (%d rows from file, %d changed, %d deleted)", snapshot.getLoadMillis(),
+                            snapshot.getSnapshotRows(), snapshot.getChangedRows(), snapshot.getDeletedRows()),
+                    ConsoleColors.RESET);
+            System.out.printf("%sLast write          : %s (failed writes: %d)%s%n%n", ConsoleColors.WHITE,
+                    snapshot.getLastWriteMillis() == 0 ? "-" : Instant.ofEpochMilli(snapshot.getLastWriteMillis())
+                            + " (" + snapshot.getLastWriteRows() + " rows)",
+                    snapshot.getWriteFailureCount(), ConsoleColors.RESET);
+        }
+
+        System.out.println(ConsoleColors.GREEN + "=== End of Diagnostics ===\n" + ConsoleColors.RESET);
+    }
+
+    /**
+     * Formats hits / (hits + misses) as a percentage.
+     */
+    private String formatRate(long hits, long misses) {
+        long total = hits + misses;
+        if (total == 0) {
+            return "-";
+        }
+        return String.format("%.1f%%", hits * 100.0 / total);
+    }
+}
@@ -1,12 +1,18 @@
 package service;
 
-import dao.ContactDAO;
 import model.Contact;
+import model.ContactStatsSnapshot;
+import stats.ContactStatsAggregate;
+import stats.ContactStatsCache;
+import stats.StatsEngine;
+import store.LiveContactStore;
 import util.ConsoleColors;
+import util.InputHelper;
 
 import java.time.LocalDate;
 import java.time.Period;
 import java.util.Map;
+import java.util.Scanner;
 
 /**
  * Service class for managing contact statistics and reporting.
@@ -14,19 +20,54 @@ import java.util.Map;
  */
 public class StatisticsService {
 
-    private final ContactDAO contactDAO;
-
-    public StatisticsService() {
-        this.contactDAO = new ContactDAO();
-    }
+    /** Number of first names shown when the manager does not choose one. */
+    public static final int DEFAULT_TOP_FIRST_NAMES = 10;
 
     /**
      * Displays contact statistics for Manager role.
+     * All figures come from one {@link ContactStatsSnapshot}, served by {@link ContactStatsCache}.
      */
     public void displayContactStatistics() {
+        displayContactStatistics(DEFAULT_TOP_FIRST_NAMES);
+    }
+
+    /**
+     * Asks how many of the most common first names to list, then displays the statistics.
+     * @param scanner the scanner for user input
+     */
+    public void displayContactStatistics(Scanner scanner) {
+        String input = InputHelper.readLine(scanner, "How many most common first names to list? (Enter for "
+                + DEFAULT_TOP_FIRST_NAMES + "): ");
+        int topFirstNames = DEFAULT_TOP_FIRST_NAMES;
+        if (input.matches("\\d{1,6}") && Integer.parseInt(input) > 0) {
+            topFirstNames = Integer.parseInt(input);
+        }
+        displayContactStatistics(topFirstNames);
+    }
+
+    /**
+     * Displays contact statistics for Manager role, listing at most topFirstNames of the
+     * most frequent shared first names.
+     * @param topFirstNames maximum number of first names to list
+     */
+    public void displayContactStatistics(int topFirstNames) {
         System.out.println(ConsoleColors.BLUE + "\n=== CONTACTS STATISTICAL INFORMATION ===\n" + ConsoleColors.RESET);
 
-        int totalCount = contactDAO.getTotalContactCount();
+        ContactStatsCache cache = ContactStatsCache.getInstance();
+        ContactStatsSnapshot stats = cache.get();
+        if (stats == null) {
+            System.out.println(ConsoleColors.RED + "Failed to load statistics.\n" + ConsoleColors.RESET);
+            return;
+        }
+        if (!cache.isFresh()) {
+            System.out.printf("%sFigures as of %s; refreshing in the background.%s%n%n",
+                    ConsoleColors.YELLOW,
+                    stats.getComputedAt().toLocalTime().withNano(0),
+                    ConsoleColors.RESET
+            );
+        }
+
+        int totalCount = stats.getTotalCount();
         System.out.println(ConsoleColors.YELLOW + "Total Contact Count:" + ConsoleColors.RESET);
         System.out.printf("%s%d contact(s)%s%n%n",
                 ConsoleColors.WHITE,
@@ -34,7 +75,7 @@ public class StatisticsService {
                 ConsoleColors.RESET
         );
 
-        double avgAge = contactDAO.getAverageAge();
+        double avgAge = stats.getAverageAge();
         System.out.println(ConsoleColors.YELLOW + "Average Age:" + ConsoleColors.RESET);
         if (avgAge > 0) {
             System.out.printf("%s%.2f years%s%n%n",
@@ -46,7 +87,7 @@ public class StatisticsService {
             System.out.println(ConsoleColors.RED + "No contacts with birth date information.\n" + ConsoleColors.RESET);
         }
 
-        Contact youngest = contactDAO.getYoungestContact();
+        Contact youngest = stats.getYoungest();
         System.out.println(ConsoleColors.YELLOW + "Youngest Contact:" + ConsoleColors.RESET);
         if (youngest != null && youngest.getBirthDate() != null) {
             Period period = Period.between(youngest.getBirthDate(), LocalDate.now());
@@ -60,7 +101,7 @@ public class StatisticsService {
             System.out.println(ConsoleColors.RED + "No contact with birth date information.\n" + ConsoleColors.RESET);
         }
 
-        Contact oldest = contactDAO.getOldestContact();
+        Contact oldest = stats.getOldest();
         System.out.println(ConsoleColors.YELLOW + "Oldest Contact:" + ConsoleColors.RESET);
         if (oldest != null && oldest.getBirthDate() != null) {
             Period period = Period.between(oldest.getBirthDate(), LocalDate.now());
@@ -74,8 +115,8 @@ public class StatisticsService {
             System.out.println(ConsoleColors.RED + "No contact with birth date information.\n" + ConsoleColors.RESET);
         }
 
-        int withLinkedin = contactDAO.countWithLinkedin();
-        int withoutLinkedin = contactDAO.countWithoutLinkedin();
+        int withLinkedin = stats.getWithLinkedinCount();
+        int withoutLinkedin = stats.getWithoutLinkedinCount();
         System.out.println(ConsoleColors.YELLOW + "LinkedIn Profile Statistics:" + ConsoleColors.RESET);
         System.out.printf("%sContacts with LinkedIn: %d%s%n",
                 ConsoleColors.WHITE,
@@ -88,7 +129,7 @@ public class StatisticsService {
                 ConsoleColors.RESET
         );
 
-        Map<String, Integer> birthMonthDist = contactDAO.getBirthMonthDistribution();
+        Map<String, Integer> birthMonthDist = stats.getBirthMonthDistribution();
         System.out.println(ConsoleColors.YELLOW + "Birth Month Distribution:" + ConsoleColors.RESET);
         if (birthMonthDist.isEmpty()) {
             System.out.println(ConsoleColors.RED + "No contacts with birth date information.\n" + ConsoleColors.RESET);
@@ -104,7 +145,7 @@ public class StatisticsService {
             System.out.println();
         }
 
-        Map<String, Integer> ageGroups = contactDAO.getAgeGroupDistribution();
+        Map<String, Integer> ageGroups = stats.getAgeGroupCounts();
         System.out.println(ConsoleColors.YELLOW + "Age Group Distribution:" + ConsoleColors.RESET);
         int totalWithBirthDate = 0;
         for (int count : ageGroups.values()) {
@@ -127,8 +168,9 @@ public class StatisticsService {
             System.out.println();
         }
 
-        Map<String, Integer> nameCounts = contactDAO.getAllFirstNameCounts();
-        System.out.println(ConsoleColors.YELLOW + "First Name Frequency (same name count):" + ConsoleColors.RESET);
+        Map<String, Integer> nameCounts = stats.getTopFirstNames(topFirstNames);
+        System.out.println(ConsoleColors.YELLOW + "First Name Frequency (top " + topFirstNames
+                + (stats.isFirstNameCountsApproximate() ? ", estimated" : "") + "):" + ConsoleColors.RESET);
         if (nameCounts.isEmpty()) {
             System.out.println(ConsoleColors.RED + "No contacts found.\n" + ConsoleColors.RESET);
         } else {
@@ -137,9 +179,10 @@ public class StatisticsService {
                 String name = entry.getKey() != null ? entry.getKey() : "(null)";
                 int count = entry.getValue();
                 if (count > 1) {
-                    System.out.printf("%s%s: %d persons%s%n",
+                    System.out.printf("%s%s: %s%d persons%s%n",
                             ConsoleColors.WHITE,
                             name,
+                            stats.isFirstNameCountsApproximate() ? "~" : "",
                             count,
                             ConsoleColors.RESET
                     );
@@ -156,4 +199,35 @@ public class StatisticsService {
 
         System.out.println(ConsoleColors.GREEN + "=== End of Statistics ===\n" + ConsoleColors.RESET);
     }
+
+    /**
+     * Recomputes the statistics counters from the database, e.g. after contacts were
+     * changed outside the application. The incremental engine rebuilds its counters and the
+     * memory engine reloads its contact store; for the SQL engine the cached statistics are
+     * dropped, so the next view computes them anew.
+     */
+    public void rebuildStatistics() {
+        StatsEngine engine = StatsEngine.configured();
+        if (engine == StatsEngine.MEMORY) {
+            if (LiveContactStore.getInstance().reload()) {
+                ContactStatsCache.getInstance().invalidate();
+                System.out.println(ConsoleColors.GREEN + "\nStatistics rebuilt from the database.\n" + ConsoleColors.RESET);
+            } else {
+                System.out.println(ConsoleColors.RED + "\nFailed to rebuild statistics.\n" + ConsoleColors.RESET);
+            }
+            return;
+        }
+        if (engine != StatsEngine.INCREMENTAL) {
+            ContactStatsCache.getInstance().invalidate();
+            System.out.println(ConsoleColors.GREEN + "\nStatistics will be recomputed on the next view.\n"
+                    + ConsoleColors.RESET);
+            return;
+        }
+        if (ContactStatsAggregate.getInstance().rebuild()) {
+            ContactStatsCache.getInstance().invalidate();
+            System.out.println(ConsoleColors.GREEN + "\nStatistics rebuilt from the database.\n" + ConsoleColors.RESET);
+        } else {
+            System.out.println(ConsoleColors.RED + "\nFailed to rebuild statistics.\n" + ConsoleColors.RESET);
+        }
+    }
 }
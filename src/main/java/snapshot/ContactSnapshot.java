@@ -0,0 +1,295 @@
+package snapshot;
+
+import dao.ContactDAO;
+import dao.ContactFilter;
+import dao.ContactProjection;
+import dao.ContactWriteListener;
+import model.Contact;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Warm start for the in-memory contact features (search index, statistics aggregate).
+ *
+ * With -Dsnapshot.file set, a binary copy of the contact list columns ({@link SnapshotFile})
+ * is rewritten every -Dsnapshot.writeIntervalMinutes (default 10) by a background thread.
+ * At startup the file is memory-mapped and checked against the database: only the rows whose
+ * updated_at is not older than the snapshot's maximum (minus -Dsnapshot.deltaOverlapSeconds,
+ * default 60, for transactions that committed late) are read from MySQL. Deleted rows are found
+ * by comparing row counts, and only if they differ by reading the contact IDs. If the merged
+ * result does not add up to the database row count, the snapshot is not used and the features
+ * load from the database as before.
+ *
+ * The merged view is kept current by ContactDAO write notifications until {@link #release()},
+ * which Main calls once the in-memory features are loaded.
+ */
+public final class ContactSnapshot implements ContactWriteListener {
+
+    private static final String FILE = System.getProperty("snapshot.file");
+    private static final long WRITE_INTERVAL_MINUTES = Long.getLong("snapshot.writeIntervalMinutes", 10L);
+    private static final long DELTA_OVERLAP_SECONDS = Long.getLong("snapshot.deltaOverlapSeconds", 60L);
+
+    private static ContactSnapshot instance;
+
+    private final Path file;
+    private ScheduledExecutorService writer;
+
+    /** The mapped snapshot plus the changes since it was written; null when not loaded. */
+    private SnapshotFile snapshot;
+    private final Map<Integer, Contact> changed = new HashMap<>();
+    private final Set<Integer> deleted = new HashSet<>();
+    private boolean current;
+
+    private volatile double loadMillis = -1;
+    private volatile int snapshotRows;
+    private volatile int changedRows;
+    private volatile int deletedRows;
+    private volatile long lastWriteMillis;
+    private volatile int lastWriteRows;
+    private final AtomicLong writeFailures = new AtomicLong();
+
+    /**
+     * Returns the shared snapshot, loading and validating the file on first use.
+     * @return the application-wide snapshot; not loaded if -Dsnapshot.file is not set
+     */
+    public static synchronized ContactSnapshot getInstance() {
+        if (instance == null) {
+            instance = new ContactSnapshot(FILE == null || FILE.isBlank() ? null : Path.of(FILE));
+            if (instance.file != null) {
+                instance.load(new ContactDAO());
+            }
+        }
+        return instance;
+    }
+
+    ContactSnapshot(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Maps the file and merges the database changes made since it was written.
+     */
+    synchronized void load(ContactDAO contactDAO) {
+        long start = System.nanoTime();
+        SnapshotFile mapped;
+        try {
+            mapped = SnapshotFile.open(file);
+        } catch (IOException e) {
+            System.out.println("Ignoring contact snapshot " + file + ": " + e.getMessage());
+            return;
+        }
+        if (mapped == null || mapped.getMaxUpdatedAt() == null) {
+            return;
+        }
+
+        // registered first, so writes from now on land in the overlay (they wait for this monitor)
+        ContactDAO.addWriteListener(this);
+        int dbCount = contactDAO.getTotalContactCount();
+        LocalDateTime dbMax = contactDAO.getMaxUpdatedAt();
+        LocalDateTime since = mapped.getMaxUpdatedAt().minusSeconds(DELTA_OVERLAP_SECONDS);
+        int changedCount = contactDAO.forEachContactChangedSince(since, ContactProjection.LIST,
+                contact -> changed.put(contact.getContactId(), contact));
+        if (changedCount < 0) {
+            ContactDAO.removeWriteListener(this);
+            changed.clear();
+            return;
+        }
+
+        int added = (int) changed.keySet().stream().filter(id -> !mapped.contains(id)).count();
+        int merged = mapped.getRowCount() + added;
+        if (merged != dbCount) {
+            int[] ids = contactDAO.getAllContactIds();
+            if (ids != null) {
+                for (int row = 0; row < mapped.getRowCount(); row++) {
+                    int id = mapped.idAt(row);
+                    if (Arrays.binarySearch(ids, id) < 0) {
+                        deleted.add(id);
+                        changed.remove(id);
+                    }
+                }
+                merged = mapped.getRowCount() - deleted.size() + added;
+                dbCount = ids.length;
+            }
+        }
+        if (merged != dbCount) {
+            System.out.println("Contact snapshot " + file + " does not match the database; loading from the database.");
+            ContactDAO.removeWriteListener(this);
+            changed.clear();
+            deleted.clear();
+            return;
+        }
+
+        snapshot = mapped;
+        current = dbMax != null && dbMax.equals(mapped.getMaxUpdatedAt()) && deleted.isEmpty() && added == 0;
+        snapshotRows = mapped.getRowCount();
+        changedRows = changed.size();
+        deletedRows = deleted.size();
+        loadMillis = (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    /**
+     * @return true if the snapshot was loaded and has not been released
+     */
+    public synchronized boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Passes every contact (snapshot rows overlaid with the later changes) to the action,
+     * with the columns of {@link ContactProjection#LIST}.
+     * @param action called once per contact
+     * @return number of contacts, or -1 if no snapshot is loaded and the caller should read the database
+     */
+    public synchronized int forEachContact(Consumer<Contact> action) {
+        if (snapshot == null) {
+            return -1;
+        }
+        int count = snapshot.forEach(id -> changed.containsKey(id) || deleted.contains(id), action);
+        for (Contact contact : changed.values()) {
+            action.accept(contact);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Drops the mapping and the change overlay once the in-memory features have loaded.
+     * Later calls to {@link #forEachContact(Consumer)} return -1.
+     */
+    public synchronized void release() {
+        if (snapshot != null) {
+            ContactDAO.removeWriteListener(this);
+            snapshot = null;
+            changed.clear();
+            deleted.clear();
+        }
+    }
+
+    /**
+     * Starts rewriting the snapshot in the background: at once if the loaded one was missing or
+     * out of date, then every -Dsnapshot.writeIntervalMinutes. Does nothing without -Dsnapshot.file.
+     */
+    public synchronized void scheduleWrites() {
+        if (file == null || writer != null) {
+            return;
+        }
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "contact-snapshot-writer");
+            t.setDaemon(true);
+            return t;
+        });
+        long initialDelay = current ? WRITE_INTERVAL_MINUTES : 0;
+        writer.scheduleWithFixedDelay(this::write, initialDelay, WRITE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Reads all contacts in ID order and replaces the snapshot file.
+     * An empty contacts table is written as an empty snapshot.
+     * @return true if the file was written
+     */
+    public boolean write() {
+        if (file == null) {
+            return false;
+        }
+        ContactDAO contactDAO = new ContactDAO();
+        // read before the rows, so changes made while streaming are picked up as delta later
+        LocalDateTime maxUpdatedAt = contactDAO.getMaxUpdatedAt();
+        int expected = contactDAO.getTotalContactCount();
+        SnapshotFile.Writer out = new SnapshotFile.Writer();
+        int read = contactDAO.forEachContact(ContactFilter.all(), ContactProjection.LIST, out::add);
+        if (read < 0 || read < expected || (maxUpdatedAt == null && read > 0)) {
+            writeFailures.incrementAndGet();
+            return false;
+        }
+        try {
+            out.write(file, maxUpdatedAt);
+        } catch (IOException e) {
+            e.printStackTrace();
+            writeFailures.incrementAndGet();
+            return false;
+        }
+        lastWriteMillis = System.currentTimeMillis();
+        lastWriteRows = out.getRowCount();
+        return true;
+    }
+
+    @Override
+    public synchronized void contactSaved(Contact contact) {
+        if (snapshot != null) {
+            changed.put(contact.getContactId(), contact);
+            deleted.remove(contact.getContactId());
+        }
+    }
+
+    @Override
+    public synchronized void contactDeleted(int contactId) {
+        if (snapshot != null) {
+            changed.remove(contactId);
+            if (snapshot.contains(contactId)) {
+                deleted.add(contactId);
+            }
+        }
+    }
+
+    /**
+     * @return the snapshot file, or null if snapshots are disabled
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return time to map, validate and merge the snapshot at startup, -1 if none was used
+     */
+    public double getLoadMillis() {
+        return loadMillis;
+    }
+
+    /**
+     * @return rows read from the snapshot file at startup
+     */
+    public int getSnapshotRows() {
+        return snapshotRows;
+    }
+
+    /**
+     * @return rows read from the database at startup because they changed after the snapshot
+     */
+    public int getChangedRows() {
+        return changedRows;
+    }
+
+    /**
+     * @return snapshot rows found deleted from the database at startup
+     */
+    public int getDeletedRows() {
+        return deletedRows;
+    }
+
+    /**
+     * @return when the snapshot was last written (epoch millis), 0 if not yet
+     */
+    public long getLastWriteMillis() {
+        return lastWriteMillis;
+    }
+
+    public int getLastWriteRows() {
+        return lastWriteRows;
+    }
+
+    public long getWriteFailureCount() {
+        return writeFailures.get();
+    }
+}
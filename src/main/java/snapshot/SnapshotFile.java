@@ -0,0 +1,363 @@
+package snapshot;
+
+import model.Contact;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.zip.CRC32;
+
+/**
+ * Binary file holding the {@link dao.ContactProjection#LIST} columns of every contact,
+ * read through a read-only memory mapping.
+ *
+ * <pre>
+ * header (64 bytes)  magic "RBCMSNP1", format version, row count, string count,
+ *                    max updated_at (epoch seconds), written at (epoch millis),
+ *                    string data offset, column offset, CRC32 of everything after the header
+ * string offsets     int[stringCount + 1], start of every string in the string data
+ * string data        UTF-8 bytes of every distinct string, stored once
+ * columns            int[rowCount] each: contact_id (ascending), first name, last name, phone,
+ *                    email and LinkedIn URL as string numbers (-1 = null), birth date as epoch day
+ * </pre>
+ * All numbers are big-endian. Files are written to a temporary file with plain channel writes
+ * and moved into place, so a reader never sees a partly written snapshot; only reading maps the
+ * file, and no mapping of the temporary file is left open when it is moved.
+ */
+final class SnapshotFile {
+
+    private static final long MAGIC = 0x5242434D534E5031L; // "RBCMSNP1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int COLUMN_COUNT = 7;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final int NULL_STRING = -1;
+    private static final int NO_BIRTH_DATE = Integer.MIN_VALUE;
+    private static final long NO_UPDATED_AT = Long.MIN_VALUE;
+
+    private final int rowCount;
+    private final LocalDateTime maxUpdatedAt;
+    private final IntBuffer stringOffsets;
+    private final ByteBuffer stringData;
+    private final IntBuffer[] columns = new IntBuffer[COLUMN_COUNT];
+    private final String[] strings;
+
+    private SnapshotFile(MappedByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getLong(0) != MAGIC) {
+            throw new IOException("not a contact snapshot");
+        }
+        if (buffer.getInt(8) != FORMAT_VERSION) {
+            throw new IOException("unsupported snapshot format " + buffer.getInt(8));
+        }
+        rowCount = buffer.getInt(12);
+        int stringCount = buffer.getInt(16);
+        long updatedAt = buffer.getLong(24);
+        maxUpdatedAt = updatedAt == NO_UPDATED_AT ? null : LocalDateTime.ofEpochSecond(updatedAt, 0, ZoneOffset.UTC);
+        int stringDataOffset = buffer.getInt(40);
+        int columnOffset = buffer.getInt(44);
+        long expectedCrc = buffer.getLong(48);
+
+        long expectedSize = (long) columnOffset + 4L * COLUMN_COUNT * rowCount;
+        if (rowCount < 0 || stringCount < 0 || stringDataOffset < HEADER_SIZE || columnOffset < stringDataOffset
+                || expectedSize != buffer.capacity()) {
+            throw new IOException("snapshot is truncated or damaged");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+        if (crc.getValue() != expectedCrc) {
+            throw new IOException("snapshot checksum mismatch");
+        }
+
+        stringOffsets = buffer.slice(HEADER_SIZE, 4 * (stringCount + 1)).asIntBuffer();
+        stringData = buffer.slice(stringDataOffset, columnOffset - stringDataOffset);
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            columns[c] = buffer.slice(columnOffset + 4 * c * rowCount, 4 * rowCount).asIntBuffer();
+        }
+        strings = new String[stringCount];
+    }
+
+    /**
+     * Maps a snapshot file and checks its header and checksum.
+     * @param file the snapshot
+     * @return the snapshot, or null if the file does not exist
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    static SnapshotFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("snapshot larger than 2 GB");
+            }
+            // the mapping stays valid after the channel is closed
+            return new SnapshotFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the latest updated_at when the snapshot was written, null if the table was empty
+     */
+    LocalDateTime getMaxUpdatedAt() {
+        return maxUpdatedAt;
+    }
+
+    /**
+     * @return true if a contact with this ID is in the snapshot
+     */
+    boolean contains(int contactId) {
+        IntBuffer ids = columns[0];
+        int low = 0;
+        int high = rowCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int id = ids.get(mid);
+            if (id < contactId) {
+                low = mid + 1;
+            } else if (id > contactId) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the contact ID of a row; rows are in ascending ID order
+     */
+    int idAt(int row) {
+        return columns[0].get(row);
+    }
+
+    /**
+     * Decodes every row whose ID is not skipped, in ID order.
+     * Every distinct string is decoded only once.
+     * @param skip IDs to leave out
+     * @param action receives the decoded contacts
+     * @return number of contacts passed to the action
+     */
+    int forEach(IntPredicate skip, Consumer<Contact> action) {
+        int count = 0;
+        for (int row = 0; row < rowCount; row++) {
+            int id = columns[0].get(row);
+            if (skip.test(id)) {
+                continue;
+            }
+            Contact c = new Contact();
+            c.setContactId(id);
+            c.setFirstName(string(columns[1].get(row)));
+            c.setLastName(string(columns[2].get(row)));
+            c.setPhoneNumber(string(columns[3].get(row)));
+            c.setEmail(string(columns[4].get(row)));
+            c.setLinkedinUrl(string(columns[5].get(row)));
+            int birth = columns[6].get(row);
+            c.setBirthDate(birth == NO_BIRTH_DATE ? null : LocalDate.ofEpochDay(birth));
+            action.accept(c);
+            count++;
+        }
+        return count;
+    }
+
+    private String string(int index) {
+        if (index == NULL_STRING) {
+            return null;
+        }
+        String s = strings[index];
+        if (s == null) {
+            int start = stringOffsets.get(index);
+            int length = stringOffsets.get(index + 1) - start;
+            byte[] bytes = new byte[length];
+            stringData.get(start, bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = s;
+        }
+        return s;
+    }
+
+    /** Collects contacts, which must arrive in ascending ID order, and writes them as a snapshot. */
+    static final class Writer {
+        private int rowCount;
+        private final int[][] columns = new int[COLUMN_COUNT][1024];
+        private final Map<String, Integer> stringNumbers = new HashMap<>();
+        private final List<byte[]> stringBytes = new ArrayList<>();
+        private int stringDataSize;
+
+        void add(Contact c) {
+            if (rowCount == columns[0].length) {
+                for (int i = 0; i < COLUMN_COUNT; i++) {
+                    columns[i] = Arrays.copyOf(columns[i], rowCount * 2);
+                }
+            }
+            if (rowCount > 0 && c.getContactId() <= columns[0][rowCount - 1]) {
+                throw new IllegalArgumentException("contacts must be added in ascending ID order");
+            }
+            columns[0][rowCount] = c.getContactId();
+            columns[1][rowCount] = stringNumber(c.getFirstName());
+            columns[2][rowCount] = stringNumber(c.getLastName());
+            columns[3][rowCount] = stringNumber(c.getPhoneNumber());
+            columns[4][rowCount] = stringNumber(c.getEmail());
+            columns[5][rowCount] = stringNumber(c.getLinkedinUrl());
+            columns[6][rowCount] = c.getBirthDate() == null ? NO_BIRTH_DATE : (int) c.getBirthDate().toEpochDay();
+            rowCount++;
+        }
+
+        int getRowCount() {
+            return rowCount;
+        }
+
+        private int stringNumber(String s) {
+            if (s == null) {
+                return NULL_STRING;
+            }
+            Integer number = stringNumbers.get(s);
+            if (number == null) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                number = stringBytes.size();
+                stringNumbers.put(s, number);
+                stringBytes.add(bytes);
+                stringDataSize += bytes.length;
+            }
+            return number;
+        }
+
+        /**
+         * Writes the snapshot to a temporary file next to the target and moves it into place.
+         * @param file the snapshot file
+         * @param maxUpdatedAt latest updated_at read before the contacts were, null for an empty table
+         * @throws IOException if writing fails
+         */
+        void write(Path file, LocalDateTime maxUpdatedAt) throws IOException {
+            int stringCount = stringBytes.size();
+            long stringDataOffset = HEADER_SIZE + 4L * (stringCount + 1);
+            long columnOffset = (stringDataOffset + stringDataSize + 3) & ~3L;
+            long size = columnOffset + 4L * COLUMN_COUNT * rowCount;
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("snapshot would be larger than 2 GB");
+            }
+
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                // body first, so its checksum is known when the header is written
+                Output out = new Output(channel, HEADER_SIZE);
+                int offset = 0;
+                for (byte[] bytes : stringBytes) {
+                    out.putInt(offset);
+                    offset += bytes.length;
+                }
+                out.putInt(offset);
+                for (byte[] bytes : stringBytes) {
+                    out.put(bytes);
+                }
+                out.pad((int) (columnOffset - stringDataOffset - stringDataSize));
+                for (int[] column : columns) {
+                    out.putInts(column, rowCount);
+                }
+                out.flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putLong(0, MAGIC);
+                header.putInt(8, FORMAT_VERSION);
+                header.putInt(12, rowCount);
+                header.putInt(16, stringCount);
+                header.putLong(24, maxUpdatedAt == null ? NO_UPDATED_AT : maxUpdatedAt.toEpochSecond(ZoneOffset.UTC));
+                header.putLong(32, System.currentTimeMillis());
+                header.putInt(40, (int) stringDataOffset);
+                header.putInt(44, (int) columnOffset);
+                header.putLong(48, out.crc.getValue());
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Sequential writes to a file channel through one direct buffer, with a running CRC32.
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private final CRC32 crc = new CRC32();
+
+        Output(FileChannel channel, long position) throws IOException {
+            this.channel = channel;
+            channel.position(position);
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int done = 0;
+            while (done < bytes.length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int n = Math.min(bytes.length - done, buffer.remaining());
+                buffer.put(bytes, done, n);
+                done += n;
+            }
+        }
+
+        void pad(int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                buffer.put((byte) 0);
+            }
+        }
+
+        void putInts(int[] values, int count) throws IOException {
+            int done = 0;
+            while (done < count) {
+                if (buffer.remaining() < 4) {
+                    flush();
+                }
+                int n = Math.min(count - done, buffer.remaining() / 4);
+                buffer.asIntBuffer().put(values, done, n);
+                buffer.position(buffer.position() + 4 * n);
+                done += n;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
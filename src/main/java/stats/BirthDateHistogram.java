@@ -0,0 +1,100 @@
+package stats;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Number of contacts per birth day, kept in a Fenwick (binary indexed) tree.
+ * Adding or removing a birth date and counting the births in a date range are both
+ * O(log d), where d is the number of days covered (1900-01-01 to 2100-12-31).
+ * Age questions are date range questions: "age between 19 and 30 today" is
+ * "born after today - 31 years and on or before today - 19 years".
+ * Dates outside the covered range are clamped to its first or last day.
+ */
+final class BirthDateHistogram {
+
+    private static final long FIRST_DAY = LocalDate.of(1900, 1, 1).toEpochDay();
+    private static final long LAST_DAY = LocalDate.of(2100, 12, 31).toEpochDay();
+    private static final int SIZE = (int) (LAST_DAY - FIRST_DAY + 1);
+
+    private final int[] tree = new int[SIZE + 1];
+    private int total;
+
+    void add(LocalDate birthDate, int delta) {
+        total += delta;
+        for (int i = index(birthDate) + 1; i <= SIZE; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * @return number of birth dates on or before the given date
+     */
+    int countUpTo(LocalDate date) {
+        long day = date.toEpochDay();
+        if (day < FIRST_DAY) {
+            return 0;
+        }
+        int sum = 0;
+        for (int i = index(date) + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return number of birth dates in (after, upTo]
+     */
+    int countBetween(LocalDate after, LocalDate upTo) {
+        return Math.max(0, countUpTo(upTo) - countUpTo(after));
+    }
+
+    /**
+     * Counts contacts whose age today is between minAge and maxAge (inclusive).
+     * @param today the reference date
+     * @param minAge lowest age
+     * @param maxAge highest age, or Integer.MAX_VALUE for no upper bound
+     * @return number of contacts in the age range
+     */
+    int countAgeBetween(LocalDate today, int minAge, int maxAge) {
+        // like TIMESTAMPDIFF(YEAR, ...), a birth date less than a year in the future has age 0
+        LocalDate latestBirth = minAge > 0 ? today.minusYears(minAge) : today.plusYears(1).minusDays(1);
+        if (maxAge == Integer.MAX_VALUE || maxAge >= 250) {
+            return countUpTo(latestBirth);
+        }
+        return countBetween(today.minusYears(maxAge + 1L), latestBirth);
+    }
+
+    /**
+     * Sum of the ages of all contacts born on or before today.
+     * Every contact aged a is counted once for each of the years 1..a, so the sum is
+     * the number of births on or before today - k years, summed over k.
+     * @param today the reference date
+     * @return sum of ages in whole years
+     */
+    long sumOfAges(LocalDate today) {
+        long sum = 0;
+        for (int years = 1; ; years++) {
+            LocalDate date = today.minusYears(years);
+            if (date.toEpochDay() < FIRST_DAY) {
+                break;
+            }
+            sum += countUpTo(date);
+        }
+        return sum;
+    }
+
+    int total() {
+        return total;
+    }
+
+    void clear() {
+        Arrays.fill(tree, 0);
+        total = 0;
+    }
+
+    private static int index(LocalDate date) {
+        long day = Math.max(FIRST_DAY, Math.min(LAST_DAY, date.toEpochDay()));
+        return (int) (day - FIRST_DAY);
+    }
+}
@@ -0,0 +1,311 @@
+package stats;
+
+import dao.ContactDAO;
+import dao.ContactProjection;
+import dao.ContactWriteListener;
+import model.Contact;
+import model.ContactStatsSnapshot;
+import snapshot.ContactSnapshot;
+import util.AgeGroups;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Contact statistics maintained incrementally from {@link ContactWriteListener} notifications.
+ * Every insert, update, restore and delete adjusts the counters in O(log n), so the statistics
+ * screen no longer has to aggregate the whole contacts table. The aggregate is loaded from the
+ * database once at startup and can be rebuilt on demand with {@link #rebuild()}.
+ * Ages depend on the current date, so they are derived from a birth date histogram when a
+ * snapshot is taken instead of being stored.
+ * {@link #snapshot()} returns the last snapshot without locking while nothing has changed.
+ */
+public class ContactStatsAggregate implements ContactWriteListener {
+
+    /** Distinct first names counted exactly; beyond this the counts move to a sketch. */
+    private static final int EXACT_NAME_LIMIT = Integer.getInteger("stats.firstNames.exactLimit", 10_000);
+    /** Number of counters in the first name sketch, and so the most names it can report. */
+    private static final int NAME_SKETCH_SIZE = Integer.getInteger("stats.firstNames.sketchSize", 1_000);
+
+    private static ContactStatsAggregate instance;
+
+    /** What the aggregate remembers of a contact, so an update or delete can undo its old counts. */
+    private static final class Entry {
+        final String firstName;
+        final String lastName;
+        final boolean hasLinkedin;
+        final LocalDate birthDate;
+
+        Entry(Contact contact) {
+            this.firstName = contact.getFirstName();
+            this.lastName = contact.getLastName();
+            this.hasLinkedin = contact.getLinkedinUrl() != null && !contact.getLinkedinUrl().isEmpty();
+            this.birthDate = contact.getBirthDate();
+        }
+    }
+
+    /** A snapshot together with the version and date it was computed for, published as one reference. */
+    private static final class Cached {
+        final ContactStatsSnapshot snapshot;
+        final long version;
+        final LocalDate day;
+
+        Cached(ContactStatsSnapshot snapshot, long version, LocalDate day) {
+            this.snapshot = snapshot;
+            this.version = version;
+            this.day = day;
+        }
+    }
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final int[] birthMonthCounts = new int[12];
+    private final BirthDateHistogram birthDates = new BirthDateHistogram();
+    private final TreeMap<LocalDate, TreeSet<Integer>> idsByBirthDate = new TreeMap<>();
+    private final Map<String, Integer> firstNameCounts = new HashMap<>();
+    private final TreeSet<String> firstNamesByCount = new TreeSet<>(
+            Comparator.comparing((String name) -> firstNameCounts.get(name)).reversed()
+                    .thenComparing(Comparator.nullsFirst(Comparator.<String>naturalOrder())));
+    private SpaceSavingSketch firstNameSketch;
+    private int withLinkedinCount;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    private volatile long version;
+    private volatile Cached cached;
+
+    /**
+     * Returns the shared aggregate, loading it and registering it with ContactDAO on first use.
+     * @return the application-wide aggregate
+     */
+    public static synchronized ContactStatsAggregate getInstance() {
+        if (instance == null) {
+            instance = new ContactStatsAggregate();
+            ContactDAO.addWriteListener(instance);
+            instance.load(true);
+        }
+        return instance;
+    }
+
+    /**
+     * Discards all counters and reloads them from the database.
+     * Changes arriving during the rebuild wait for the write lock, so none are lost.
+     * If the load fails the aggregate stays unavailable and callers fall back to SQL.
+     * @return true if every contact was loaded
+     */
+    public boolean rebuild() {
+        return load(false);
+    }
+
+    /**
+     * @param fromSnapshot true to load from the {@link ContactSnapshot} if one is loaded
+     */
+    private boolean load(boolean fromSnapshot) {
+        ContactDAO contactDAO = new ContactDAO();
+        lock.writeLock().lock();
+        try {
+            clear();
+            if (fromSnapshot && ContactSnapshot.getInstance().forEachContact(this::add) >= 0) {
+                ready = true;
+            } else {
+                int expected = contactDAO.getTotalContactCount();
+                int loaded = contactDAO.forEachContact(ContactProjection.LIST, this::add);
+                ready = loaded >= expected;
+            }
+            version++;
+            return ready;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the current statistics. While no contact has changed since the last call
+     * (and the date has not changed) the previous snapshot is returned without locking.
+     * @return the statistics, or null if the aggregate is not available
+     */
+    public ContactStatsSnapshot snapshot() {
+        if (!ready) {
+            return null;
+        }
+        LocalDate today = LocalDate.now();
+        Cached current = cached;
+        if (current != null && current.version == version && current.day.equals(today)) {
+            return current.snapshot;
+        }
+
+        lock.readLock().lock();
+        try {
+            long seen = version;
+            ContactStatsSnapshot fresh = build(today);
+            cached = new Cached(fresh, seen, today);
+            return fresh;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ContactStatsSnapshot build(LocalDate today) {
+        int withBirthDate = birthDates.total();
+        double averageAge = withBirthDate > 0 ? (double) birthDates.sumOfAges(today) / withBirthDate : 0.0;
+
+        AgeGroups groups = AgeGroups.getConfigured();
+        Map<String, Integer> ageGroups = new LinkedHashMap<>();
+        for (int g = 0; g < groups.size(); g++) {
+            ageGroups.put(groups.getLabels().get(g), birthDates.countAgeBetween(today, groups.minAge(g), groups.maxAge(g)));
+        }
+
+        Map<String, Integer> names;
+        if (firstNameSketch != null) {
+            names = firstNameSketch.top(NAME_SKETCH_SIZE);
+        } else {
+            names = new LinkedHashMap<>();
+            for (String name : firstNamesByCount) {
+                names.put(name, firstNameCounts.get(name));
+            }
+        }
+
+        Contact youngest = idsByBirthDate.isEmpty() ? null : statsContact(idsByBirthDate.lastEntry().getValue().first());
+        Contact oldest = idsByBirthDate.isEmpty() ? null : statsContact(idsByBirthDate.firstEntry().getValue().first());
+
+        return new ContactStatsSnapshot(entries.size(), withLinkedinCount, withBirthDate, averageAge,
+                youngest, oldest, birthMonthCounts, ageGroups, names, firstNameSketch != null, LocalDateTime.now());
+    }
+
+    private Contact statsContact(int contactId) {
+        Entry entry = entries.get(contactId);
+        Contact c = new Contact();
+        c.setFirstName(entry.firstName);
+        c.setLastName(entry.lastName);
+        c.setBirthDate(entry.birthDate);
+        return c;
+    }
+
+    private void add(Contact contact) {
+        int id = contact.getContactId();
+        remove(id);
+        Entry entry = new Entry(contact);
+        entries.put(id, entry);
+        apply(id, entry, 1);
+    }
+
+    private void remove(int contactId) {
+        Entry old = entries.remove(contactId);
+        if (old != null) {
+            apply(contactId, old, -1);
+        }
+    }
+
+    private void apply(int contactId, Entry entry, int delta) {
+        if (entry.hasLinkedin) {
+            withLinkedinCount += delta;
+        }
+        adjustFirstName(entry.firstName, delta);
+
+        if (entry.birthDate == null) {
+            return;
+        }
+        birthMonthCounts[entry.birthDate.getMonthValue() - 1] += delta;
+        birthDates.add(entry.birthDate, delta);
+        if (delta > 0) {
+            idsByBirthDate.computeIfAbsent(entry.birthDate, d -> new TreeSet<>()).add(contactId);
+        } else {
+            TreeSet<Integer> ids = idsByBirthDate.get(entry.birthDate);
+            if (ids != null) {
+                ids.remove(contactId);
+                if (ids.isEmpty()) {
+                    idsByBirthDate.remove(entry.birthDate);
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts first names exactly until there are more than EXACT_NAME_LIMIT distinct names,
+     * then hands the counts to a fixed-size Space-Saving sketch, which keeps the most
+     * frequent names and bounds memory regardless of how many distinct names there are.
+     * In exact mode a name has to leave the ordered set before its count changes, because
+     * the set's comparator reads the count.
+     */
+    private void adjustFirstName(String firstName, int delta) {
+        if (firstNameSketch != null) {
+            if (delta > 0) {
+                firstNameSketch.add(firstName, delta);
+            } else {
+                firstNameSketch.remove(firstName);
+            }
+            return;
+        }
+        Integer count = firstNameCounts.get(firstName);
+        if (count != null) {
+            firstNamesByCount.remove(firstName);
+        }
+        int updated = (count == null ? 0 : count) + delta;
+        if (updated > 0) {
+            firstNameCounts.put(firstName, updated);
+            firstNamesByCount.add(firstName);
+        } else {
+            firstNameCounts.remove(firstName);
+        }
+        if (firstNameCounts.size() > EXACT_NAME_LIMIT) {
+            switchToSketch();
+        }
+    }
+
+    private void switchToSketch() {
+        firstNameSketch = new SpaceSavingSketch(NAME_SKETCH_SIZE);
+        for (String name : firstNamesByCount) {
+            if (firstNameSketch.size() == NAME_SKETCH_SIZE) {
+                break;
+            }
+            firstNameSketch.add(name, firstNameCounts.get(name));
+        }
+        firstNamesByCount.clear();
+        firstNameCounts.clear();
+    }
+
+    private void clear() {
+        entries.clear();
+        Arrays.fill(birthMonthCounts, 0);
+        birthDates.clear();
+        idsByBirthDate.clear();
+        firstNamesByCount.clear();
+        firstNameCounts.clear();
+        firstNameSketch = null;
+        withLinkedinCount = 0;
+    }
+
+    @Override
+    public void contactSaved(Contact contact) {
+        lock.writeLock().lock();
+        try {
+            add(contact);
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void contactDeleted(int contactId) {
+        lock.writeLock().lock();
+        try {
+            remove(contactId);
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
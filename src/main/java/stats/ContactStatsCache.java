@@ -0,0 +1,209 @@
+package stats;
+
+import dao.ContactDAO;
+import dao.ContactWriteListener;
+import model.Contact;
+import model.ContactStatsSnapshot;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the last statistics snapshot for the statistics screen.
+ * A snapshot is fresh for -Dstats.cache.ttlMillis (default 30 seconds) and until the next
+ * contact write. A stale snapshot is still returned immediately while a background thread
+ * computes a new one (stale-while-revalidate), so the screen never waits for the database
+ * once something has been cached. Only the very first request loads synchronously.
+ * Snapshots are computed by the {@link StatsEngine} chosen with -Dstats.engine.
+ */
+public class ContactStatsCache implements ContactWriteListener {
+
+    private static final long DEFAULT_TTL_MILLIS = Long.getLong("stats.cache.ttlMillis", 30_000L);
+
+    private static ContactStatsCache instance;
+
+    private final Supplier<ContactStatsSnapshot> loader;
+    private final long ttlNanos;
+    private final ExecutorService refresher;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong writeVersion = new AtomicLong();
+
+    private volatile ContactStatsSnapshot snapshot;
+    private volatile long loadedAtNanos;
+    private volatile long loadedVersion;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong staleHitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+    private volatile long lastRefreshNanos;
+
+    /**
+     * Returns the shared cache, registering it with ContactDAO on first use.
+     * @return the application-wide cache
+     */
+    public static synchronized ContactStatsCache getInstance() {
+        if (instance == null) {
+            StatsEngine engine = StatsEngine.configured();
+            instance = new ContactStatsCache(engine::compute, DEFAULT_TTL_MILLIS);
+            ContactDAO.addWriteListener(instance);
+        }
+        return instance;
+    }
+
+    /**
+     * @param loader computes a snapshot, returning null on failure
+     * @param ttlMillis how long a snapshot stays fresh without writes
+     */
+    ContactStatsCache(Supplier<ContactStatsSnapshot> loader, long ttlMillis) {
+        this.loader = loader;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.refresher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "stats-cache-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Returns the cached snapshot, refreshing it in the background if it is stale.
+     * @return the statistics, or null if nothing is cached and loading failed
+     */
+    public ContactStatsSnapshot get() {
+        ContactStatsSnapshot current = snapshot;
+        if (current == null) {
+            missCount.incrementAndGet();
+            return loadNow();
+        }
+        if (isFresh()) {
+            hitCount.incrementAndGet();
+        } else {
+            staleHitCount.incrementAndGet();
+            refreshAsync();
+        }
+        return current;
+    }
+
+    /**
+     * Loads synchronously when nothing is cached. Concurrent first requests load only once.
+     */
+    private synchronized ContactStatsSnapshot loadNow() {
+        ContactStatsSnapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    private void refreshAsync() {
+        if (refreshing.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Computes a new snapshot. The write version is read first, so a write that lands
+     * during the computation leaves the new snapshot stale rather than hiding the write.
+     */
+    private ContactStatsSnapshot refresh() {
+        long version = writeVersion.get();
+        long start = System.nanoTime();
+        ContactStatsSnapshot fresh;
+        try {
+            fresh = loader.get();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            fresh = null;
+        }
+        lastRefreshNanos = System.nanoTime() - start;
+        refreshCount.incrementAndGet();
+        if (fresh == null) {
+            refreshFailureCount.incrementAndGet();
+            return snapshot;
+        }
+        loadedVersion = version;
+        loadedAtNanos = start;
+        snapshot = fresh;
+        return fresh;
+    }
+
+    /**
+     * Marks the cached snapshot stale; the next request triggers a refresh.
+     */
+    public void invalidate() {
+        writeVersion.incrementAndGet();
+    }
+
+    /**
+     * @return true if a snapshot is cached, younger than the TTL and no contact has changed since
+     */
+    public boolean isFresh() {
+        return snapshot != null && loadedVersion == writeVersion.get()
+                && System.nanoTime() - loadedAtNanos < ttlNanos;
+    }
+
+    /**
+     * @return age of the cached snapshot in milliseconds, -1 if nothing is cached
+     */
+    public long getStalenessMillis() {
+        return snapshot == null ? -1 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadedAtNanos);
+    }
+
+    public long getTtlMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    }
+
+    /**
+     * @return requests answered with a fresh snapshot
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return requests answered with a stale snapshot while it was being refreshed
+     */
+    public long getStaleHitCount() {
+        return staleHitCount.get();
+    }
+
+    /**
+     * @return requests that had to wait for a snapshot to be computed
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailureCount.get();
+    }
+
+    /**
+     * @return duration of the last refresh in milliseconds
+     */
+    public double getLastRefreshMillis() {
+        return lastRefreshNanos / 1_000_000.0;
+    }
+
+    @Override
+    public void contactSaved(Contact contact) {
+        invalidate();
+    }
+
+    @Override
+    public void contactDeleted(int contactId) {
+        invalidate();
+    }
+}
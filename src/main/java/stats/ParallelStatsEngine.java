@@ -0,0 +1,218 @@
+package stats;
+
+import model.Contact;
+import model.ContactStatsSnapshot;
+import store.ContactStore;
+import util.AgeGroups;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the statistics snapshot from a {@link ContactStore} on a fork-join pool.
+ * The rows are split into ranges; every range is reduced into its own {@link Partial}
+ * without any shared state, and the partials are merged pairwise on the way back up.
+ * First name counts are taken from a parallel sort of the name codes instead, so no
+ * thread needs a counter array as large as the name dictionary.
+ */
+final class ParallelStatsEngine {
+
+    private static final int MIN_LEAF_SIZE = 8192;
+
+    private final ForkJoinPool pool;
+
+    ParallelStatsEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    ContactStatsSnapshot compute(ContactStore store, LocalDate today, AgeGroups groups) {
+        int leafSize = Math.max(MIN_LEAF_SIZE, store.size() / (pool.getParallelism() * 4) + 1);
+        Partial total = pool.invoke(new RangeTask(store, 0, store.size(), leafSize,
+                yyyymmdd((int) today.toEpochDay()), groups));
+
+        Map<String, Integer> ageGroups = new LinkedHashMap<>();
+        for (int g = 0; g < groups.size(); g++) {
+            ageGroups.put(groups.getLabels().get(g), total.ageGroupCounts[g]);
+        }
+        double averageAge = total.withBirthDate > 0 ? (double) total.ageSum / total.withBirthDate : 0.0;
+
+        return new ContactStatsSnapshot(total.count, total.withLinkedin, total.withBirthDate, averageAge,
+                row(store, total.youngestRow), row(store, total.oldestRow),
+                total.birthMonthCounts, ageGroups, firstNameCounts(store), false, LocalDateTime.now());
+    }
+
+    private static Contact row(ContactStore store, int row) {
+        return row < 0 ? null : store.get(row);
+    }
+
+    /**
+     * Converts days since 1970-01-01 to a yyyymmdd integer without allocating
+     * (the civil-from-days algorithm of the proleptic Gregorian calendar, as LocalDate uses).
+     * On yyyymmdd integers the whole-year age is a single subtraction and division:
+     * (today - birth) / 10000.
+     */
+    static int yyyymmdd(int epochDay) {
+        long z = epochDay + 719_468L;
+        long era = Math.floorDiv(z, 146_097L);
+        long dayOfEra = z - era * 146_097L;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (int) (year * 10_000 + month * 100 + day);
+    }
+
+    /**
+     * Counts names by sorting a copy of the codes in parallel and measuring the runs.
+     * @return counts per first name, ordered by count descending, then by name
+     */
+    private static Map<String, Integer> firstNameCounts(ContactStore store) {
+        int[] codes = store.firstNameCodes();
+        Arrays.parallelSort(codes);
+
+        List<int[]> runs = new ArrayList<>();
+        for (int start = 0; start < codes.length; ) {
+            int end = start + 1;
+            while (end < codes.length && codes[end] == codes[start]) {
+                end++;
+            }
+            runs.add(new int[] { codes[start], end - start });
+            start = end;
+        }
+        runs.sort(Comparator.<int[]>comparingInt(run -> -run[1])
+                .thenComparing(run -> store.firstNameOf(run[0]),
+                        Comparator.nullsFirst(Comparator.<String>naturalOrder())));
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int[] run : runs) {
+            counts.put(store.firstNameOf(run[0]), run[1]);
+        }
+        return counts;
+    }
+
+    /** Aggregates of one row range. */
+    private static final class Partial {
+        int count;
+        int withLinkedin;
+        int withBirthDate;
+        long ageSum;
+        final int[] birthMonthCounts = new int[12];
+        final int[] ageGroupCounts;
+        int youngestRow = -1;
+        int oldestRow = -1;
+
+        Partial(int groupCount) {
+            ageGroupCounts = new int[groupCount];
+        }
+
+        /**
+         * Adds another partial covering the rows after this one. On equal birth dates the
+         * earlier row wins, so the result does not depend on how the rows were split.
+         */
+        Partial merge(Partial right, ContactStore store) {
+            count += right.count;
+            withLinkedin += right.withLinkedin;
+            withBirthDate += right.withBirthDate;
+            ageSum += right.ageSum;
+            for (int i = 0; i < 12; i++) {
+                birthMonthCounts[i] += right.birthMonthCounts[i];
+            }
+            for (int i = 0; i < ageGroupCounts.length; i++) {
+                ageGroupCounts[i] += right.ageGroupCounts[i];
+            }
+            if (right.youngestRow >= 0
+                    && (youngestRow < 0 || store.birthDay(right.youngestRow) > store.birthDay(youngestRow))) {
+                youngestRow = right.youngestRow;
+            }
+            if (right.oldestRow >= 0
+                    && (oldestRow < 0 || store.birthDay(right.oldestRow) < store.birthDay(oldestRow))) {
+                oldestRow = right.oldestRow;
+            }
+            return this;
+        }
+    }
+
+    private static final class RangeTask extends RecursiveTask<Partial> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ContactStore store;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final int today;
+        private final AgeGroups groups;
+
+        RangeTask(ContactStore store, int from, int to, int leafSize, int today, AgeGroups groups) {
+            this.store = store;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.today = today;
+            this.groups = groups;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= leafSize) {
+                return reduce();
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask left = new RangeTask(store, from, mid, leafSize, today, groups);
+            RangeTask right = new RangeTask(store, mid, to, leafSize, today, groups);
+            left.fork();
+            Partial rightResult = right.compute();
+            return left.join().merge(rightResult, store);
+        }
+
+        private Partial reduce() {
+            Partial p = new Partial(groups.size());
+            for (int row = from; row < to; row++) {
+                p.count++;
+                if (store.hasLinkedin(row)) {
+                    p.withLinkedin++;
+                }
+                int birthDay = store.birthDay(row);
+                if (birthDay == ContactStore.NO_BIRTH_DATE) {
+                    continue;
+                }
+                p.withBirthDate++;
+                int birth = yyyymmdd(birthDay);
+                // same whole years as TIMESTAMPDIFF(YEAR, birth_date, today)
+                int age = (today - birth) / 10000;
+                p.ageSum += age;
+                p.birthMonthCounts[birth / 100 % 100 - 1]++;
+                if (age >= 0) {
+                    p.ageGroupCounts[groupOf(age)]++;
+                }
+                if (p.youngestRow < 0 || birthDay > store.birthDay(p.youngestRow)) {
+                    p.youngestRow = row;
+                }
+                if (p.oldestRow < 0 || birthDay < store.birthDay(p.oldestRow)) {
+                    p.oldestRow = row;
+                }
+            }
+            return p;
+        }
+
+        private int groupOf(int age) {
+            int last = groups.size() - 1;
+            for (int g = 0; g < last; g++) {
+                if (age <= groups.maxAge(g)) {
+                    return g;
+                }
+            }
+            return last;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving sketch of the most frequent values in a stream, using a fixed number of counters.
+ * A new value takes over the counter with the smallest count when all counters are in use,
+ * inheriting that count as its possible overestimate. Any value occurring more often than
+ * total / capacity is guaranteed to hold a counter, and a reported count is never lower than
+ * the true count and exceeds it by at most the count the value inherited.
+ * Removals decrement the value's counter if it has one; a removed value that already lost its
+ * counter cannot be subtracted, which only makes the estimates more conservative.
+ * Not thread-safe; {@link ContactStatsAggregate} guards access.
+ */
+final class SpaceSavingSketch {
+
+    private static final class Counter {
+        final String value;
+        long count;
+
+        Counter(String value, long count) {
+            this.value = value;
+            this.count = count;
+        }
+    }
+
+    private static final Comparator<Counter> BY_COUNT = Comparator.<Counter>comparingLong(c -> c.count)
+            .thenComparing(c -> c.value, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+    private static final Comparator<Counter> BY_COUNT_DESCENDING = Comparator.<Counter>comparingLong(c -> -c.count)
+            .thenComparing(c -> c.value, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+
+    SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Sketch capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records occurrences of a value. O(log capacity).
+     * @param value the value, may be null
+     * @param occurrences how many times it occurred (positive)
+     */
+    void add(String value, long occurrences) {
+        Counter counter = counters.get(value);
+        if (counter != null) {
+            byCount.remove(counter);
+            counter.count += occurrences;
+            byCount.add(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(value, occurrences);
+        } else {
+            Counter evicted = byCount.pollFirst();
+            counters.remove(evicted.value);
+            counter = new Counter(value, evicted.count + occurrences);
+        }
+        counters.put(value, counter);
+        byCount.add(counter);
+    }
+
+    /**
+     * Removes one occurrence of a value, if the value holds a counter.
+     * @param value the value, may be null
+     */
+    void remove(String value) {
+        Counter counter = counters.get(value);
+        if (counter == null) {
+            return;
+        }
+        byCount.remove(counter);
+        counter.count--;
+        if (counter.count > 0) {
+            byCount.add(counter);
+        } else {
+            counters.remove(value);
+        }
+    }
+
+    /**
+     * @param k maximum number of values
+     * @return up to k values with their estimated counts, highest first, ties by value
+     */
+    Map<String, Integer> top(int k) {
+        List<Counter> sorted = new ArrayList<>(counters.values());
+        sorted.sort(BY_COUNT_DESCENDING);
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (Counter c : sorted) {
+            if (result.size() == k) {
+                break;
+            }
+            result.put(c.value, (int) c.count);
+        }
+        return result;
+    }
+
+    int size() {
+        return counters.size();
+    }
+}
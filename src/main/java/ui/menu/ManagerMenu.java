@@ -8,19 +8,21 @@ import service.ContactService;
 import service.UserService;
 import undo.UndoManager;
 import service.StatisticsService;
+import service.DiagnosticsService;
 import model.Role;
 import util.InputHelper;
 import util.ConsoleColors;
 
 /**
  * Menu for Manager role.
- * Allows Manager to change own password, view contact statistics, list all users, update existing user, add new user, delete existing user, and undo last operation.
+ * Allows Manager to change own password, view contact statistics, list all users, update existing user, add new user, delete existing user, undo last operation, view system diagnostics, and rebuild contact statistics.
  */
 public class ManagerMenu extends BaseMenu {
 
     private final ContactService contactService;
     private final UserService userService;
     private final StatisticsService statisticsService;
+    private final DiagnosticsService diagnosticsService;
 
     /**
      * Creates a new ManagerMenu with the given current user, scanner, and undo manager.
@@ -33,6 +35,7 @@ public class ManagerMenu extends BaseMenu {
         this.contactService = new ContactService(undoManager);
         this.userService = new UserService(new UserDAO(), undoManager);
         this.statisticsService = new StatisticsService();
+        this.diagnosticsService = new DiagnosticsService();
     }
 
     /**
@@ -74,6 +77,10 @@ public class ManagerMenu extends BaseMenu {
             System.out.println("|" + ConsoleColors.WHITE + " 7 - Undo last operation                  "
                     + ConsoleColors.MAGENTA + "                            │");
         }
+        System.out.println("│ " + ConsoleColors.WHITE + "8 - System diagnostics               " + ConsoleColors.MAGENTA
+                + "                                │");
+        System.out.println("│ " + ConsoleColors.WHITE + "9 - Rebuild statistics               " + ConsoleColors.MAGENTA
+                + "                                │");
         System.out.println(
                 "│ " + ConsoleColors.RED + "0 - Logout                                                  "
                         + ConsoleColors.MAGENTA + "         │");
@@ -92,7 +99,7 @@ public class ManagerMenu extends BaseMenu {
                 userService.changeOwnPasswordInteractive(currentUser, scanner);
                 break;
             case "2":
-                statisticsService.displayContactStatistics();
+                statisticsService.displayContactStatistics(scanner);
                 break;
             case "3":
                 userService.listAllUsersInteractive();
@@ -115,6 +122,14 @@ public class ManagerMenu extends BaseMenu {
                 }
                 break;
 
+            case "8":
+                diagnosticsService.displayDiagnostics();
+                break;
+
+            case "9":
+                statisticsService.rebuildStatistics();
+                break;
+
             case "0":
                 return;
 
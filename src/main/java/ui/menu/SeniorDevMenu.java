@@ -93,7 +93,7 @@ public class SeniorDevMenu extends BaseMenu {
                 userService.changeOwnPasswordInteractive(currentUser, scanner);
                 break;
             case "2":
-                contactService.displayAllContacts();
+                contactService.displayAllContacts(scanner);
                 break;
             case "3":
                 contactService.searchContactsInteractive(scanner);
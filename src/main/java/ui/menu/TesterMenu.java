@@ -84,7 +84,7 @@ public class TesterMenu extends BaseMenu {
                 userService.changeOwnPasswordInteractive(currentUser, scanner);
                 break;
             case "2":
-                contactService.displayAllContacts();
+                contactService.displayAllContacts(scanner);
                 break;
             case "3":
                 contactService.searchContactsInteractive(scanner);
@@ -0,0 +1,104 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Age group boundaries used by the statistics screen.
+ * The groups are defined by their inclusive upper bounds: the default bounds 18, 30, 50
+ * give the groups "0-18", "19-30", "31-50" and "50+" (older than 50).
+ * Other bounds can be set with -Dstats.ageGroupBounds=<comma separated ages>, e.g. "12,17,64".
+ * Ages are whole years, as in TIMESTAMPDIFF(YEAR, birth_date, CURDATE()).
+ */
+public final class AgeGroups {
+
+    private static final int[] DEFAULT_BOUNDS = { 18, 30, 50 };
+    private static AgeGroups configured;
+
+    private final int[] upperBounds;
+    private final List<String> labels;
+
+    /**
+     * @param upperBounds inclusive upper bound of every group except the last, strictly increasing
+     * @throws IllegalArgumentException if the bounds are empty, negative or not increasing
+     */
+    public AgeGroups(int... upperBounds) {
+        if (upperBounds.length == 0) {
+            throw new IllegalArgumentException("At least one age group bound is required");
+        }
+        for (int i = 0; i < upperBounds.length; i++) {
+            if (upperBounds[i] < 0 || (i > 0 && upperBounds[i] <= upperBounds[i - 1])) {
+                throw new IllegalArgumentException("Age group bounds must be increasing: " + Arrays.toString(upperBounds));
+            }
+        }
+        this.upperBounds = upperBounds.clone();
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < upperBounds.length; i++) {
+            names.add(minAge(i) + "-" + upperBounds[i]);
+        }
+        names.add(upperBounds[upperBounds.length - 1] + "+");
+        this.labels = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Returns the groups configured with -Dstats.ageGroupBounds, or the default groups
+     * if the property is missing or invalid.
+     * @return the application-wide age groups
+     */
+    public static synchronized AgeGroups getConfigured() {
+        if (configured == null) {
+            configured = parse(System.getProperty("stats.ageGroupBounds"));
+        }
+        return configured;
+    }
+
+    private static AgeGroups parse(String property) {
+        if (property == null || property.isBlank()) {
+            return new AgeGroups(DEFAULT_BOUNDS);
+        }
+        try {
+            String[] parts = property.split(",");
+            int[] bounds = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                bounds[i] = Integer.parseInt(parts[i].trim());
+            }
+            return new AgeGroups(bounds);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring invalid stats.ageGroupBounds '" + property + "': " + e.getMessage());
+            return new AgeGroups(DEFAULT_BOUNDS);
+        }
+    }
+
+    /**
+     * @return number of groups (one more than the number of bounds)
+     */
+    public int size() {
+        return labels.size();
+    }
+
+    /**
+     * @return group labels in group order, e.g. "0-18", ..., "50+"
+     */
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    /**
+     * @param group group index
+     * @return youngest age in the group
+     */
+    public int minAge(int group) {
+        return group == 0 ? 0 : upperBounds[group - 1] + 1;
+    }
+
+    /**
+     * @param group group index
+     * @return oldest age in the group, Integer.MAX_VALUE for the last group
+     */
+    public int maxAge(int group) {
+        return group < upperBounds.length ? upperBounds[group] : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,130 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams records from a CSV or TSV file one at a time, so memory use does not grow with the file.
+ * Fields may be enclosed in double quotes; a quoted field can contain the delimiter, line breaks
+ * and doubled quotes (""). A leading UTF-8 byte order mark is skipped.
+ */
+public class CsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private int lineNumber;
+    private boolean first = true;
+
+    /** One record with the physical line it started on and its original text. */
+    public static final class Record {
+        private final int lineNumber;
+        private final List<String> fields;
+        private final String raw;
+
+        Record(int lineNumber, List<String> fields, String raw) {
+            this.lineNumber = lineNumber;
+            this.fields = fields;
+            this.raw = raw;
+        }
+
+        /** @return 1-based line number of the first line of the record */
+        public int getLineNumber() { return lineNumber; }
+        public List<String> getFields() { return fields; }
+        /** @return the record as it appeared in the file, without the final line break */
+        public String getRaw() { return raw; }
+    }
+
+    /**
+     * @param reader the input, closed with this reader
+     * @param delimiter ',' for CSV, '\t' for TSV
+     */
+    public CsvReader(BufferedReader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * @param fileName the file name
+     * @return '\t' for .tsv and .tab files, ',' otherwise
+     */
+    public static char delimiterFor(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".tsv") || lower.endsWith(".tab") ? '\t' : ',';
+    }
+
+    /**
+     * Reads the next record. Blank lines are skipped.
+     * @return the record, or null at the end of the input
+     * @throws IOException if reading fails or the file ends inside a quoted field
+     */
+    public Record next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            if (first) {
+                first = false;
+                if (line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+            }
+        } while (line.isBlank());
+
+        int startLine = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder raw = new StringBuilder(line);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // line break inside a quoted field
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("Unterminated quoted field starting on line " + startLine);
+                }
+                lineNumber++;
+                raw.append('\n').append(line);
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return new Record(startLine, fields, raw.toString());
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,58 @@
+package util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes CSV records that {@link CsvReader} reads back unchanged.
+ * A field is quoted only if it contains the delimiter, a double quote or a line break,
+ * or starts or ends with a space.
+ */
+public final class CsvWriter {
+
+    private CsvWriter() {
+    }
+
+    /**
+     * Writes one record followed by a line break. Null fields are written as empty fields.
+     * @param out the output
+     * @param delimiter ',' for CSV, '\t' for TSV
+     * @param fields the field values
+     * @throws IOException if writing fails
+     */
+    public static void writeRecord(Writer out, char delimiter, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(delimiter);
+            }
+            writeField(out, delimiter, fields[i] == null ? "" : fields[i]);
+        }
+        out.write('\n');
+    }
+
+    private static void writeField(Writer out, char delimiter, String value) throws IOException {
+        if (!needsQuotes(value, delimiter)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static boolean needsQuotes(String value, char delimiter) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        if (value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ') {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -18,6 +18,15 @@ public class InputHelper {
     private static final int MAX_EMAIL_LENGTH = 100;
     private static final int MAX_LINKEDIN_LENGTH = 255;
     private static final String NICKNAME_REGEX = "^[a-zA-Z0-9çÇğĞıİöÖşŞüÜ\\s\\-]+$";
+    private static final String EMAIL_REGEX = "^[A-Za-z0-9çÇğĞıİöÖşŞüÜ+_.-]+@" +
+                                              "[A-Za-z0-9.-]+\\." +
+                                              "[A-Za-z]{2,}$";
+    private static final String LINKEDIN_REGEX = "^https:\\/\\/([a-z]{2,3}\\.)?linkedin\\.com\\/.*$";
+
+    /** Error message for phone numbers rejected by {@link #normalizePhoneTR(String)}. */
+    public static final String PHONE_ERROR = "Invalid phone number! Must be 10 digits starting with 5 (e.g. 532xxxxxxx).";
+    /** Error message for URLs rejected by {@link #normalizeLinkedin(String)}. */
+    public static final String LINKEDIN_ERROR = "Invalid LinkedIn URL! Please enter a valid username or full URL.";
 
     public static String readNonEmptyLine(Scanner scanner, String prompt) {
         
@@ -99,8 +108,6 @@ public class InputHelper {
     }
 
     public static String readValidName(Scanner scanner, String prompt) {
-        java.util.Locale tr = java.util.Locale.forLanguageTag("tr-TR");
-        
         while (true) {
             System.out.print(prompt);
             String input = scanner.nextLine();
@@ -109,36 +116,54 @@ public class InputHelper {
 
             if(input.equals("0")) return "0";
 
-            if (input.isEmpty()) {
-                System.out.println(ERR_PREFIX + "Name field cannot be empty.");
+            String error = checkName(input);
+            if (error != null) {
+                System.out.println(ERR_PREFIX + error);
                 continue;
             }
-            
-            if (input.length() > MAX_NAME_LENGTH) {
-                 System.out.printf(ERR_PREFIX + "Name exceeds maximum length of %d characters.\n", MAX_NAME_LENGTH);
-                 continue;
-            }
 
-            if (!input.matches("[\\p{L}çğıöşüÇĞİÖŞÜ '\\-]+")) {
-                System.out.println(ERR_PREFIX + "Name must contain only letters (no numbers).");
-                continue;
-            }
+            return formatName(input);
+        }
+    }
 
-            String lowerAll = input.toLowerCase(tr);
-            String[] parts = lowerAll.split("\\s+");
-            StringBuilder sb = new StringBuilder();
-
-            for (String part : parts) {
-                if (part.isEmpty()) continue;
-                String first = part.substring(0, 1).toUpperCase(tr);
-                String rest = part.length() > 1 ? part.substring(1) : "";
-                
-                if (sb.length() > 0) sb.append(' ');
-                sb.append(first).append(rest);
-            }
+    /**
+     * Checks a first or last name (already trimmed).
+     * @param input the name
+     * @return error message if invalid, null if valid
+     */
+    public static String checkName(String input) {
+        if (input.isEmpty()) {
+            return "Name field cannot be empty.";
+        }
+        if (input.length() > MAX_NAME_LENGTH) {
+            return String.format("Name exceeds maximum length of %d characters.", MAX_NAME_LENGTH);
+        }
+        if (!input.matches("[\\p{L}çğıöşüÇĞİÖŞÜ '\\-]+")) {
+            return "Name must contain only letters (no numbers).";
+        }
+        return null;
+    }
+
+    /**
+     * Capitalizes every word of a valid name with Turkish case rules, e.g. "ışık yılmaz" -> "Işık Yılmaz".
+     * Call only after checkName returns null.
+     */
+    public static String formatName(String input) {
+        java.util.Locale tr = java.util.Locale.forLanguageTag("tr-TR");
+        String lowerAll = input.toLowerCase(tr);
+        String[] parts = lowerAll.split("\\s+");
+        StringBuilder sb = new StringBuilder();
 
-            return sb.toString();
+        for (String part : parts) {
+            if (part.isEmpty()) continue;
+            String first = part.substring(0, 1).toUpperCase(tr);
+            String rest = part.length() > 1 ? part.substring(1) : "";
+
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(first).append(rest);
         }
+
+        return sb.toString();
     }
     
     public static String readValidNickname(Scanner scanner, String prompt) {
@@ -148,23 +173,32 @@ public class InputHelper {
 
             if(input.equals("0")) return "0";
 
-            if (input.isEmpty()) {
-                System.out.println(ERR_PREFIX + "Nickname cannot be empty.");
-                continue;
-            }
-
-            if (input.length() > MAX_NAME_LENGTH) {
-                 System.out.printf(ERR_PREFIX + "Nickname exceeds maximum length of %d characters.\n", MAX_NAME_LENGTH);
-                 continue;
-            }
-            
-            if (!input.matches(NICKNAME_REGEX)) {
-                System.out.println(ERR_PREFIX + "Nickname can only contain letters, numbers, dot, space, and hyphens.");
+            String error = checkNickname(input);
+            if (error != null) {
+                System.out.println(ERR_PREFIX + error);
                 continue;
             }
             return input;
         }
     }
+
+    /**
+     * Checks a nickname (already trimmed).
+     * @param input the nickname
+     * @return error message if invalid, null if valid
+     */
+    public static String checkNickname(String input) {
+        if (input.isEmpty()) {
+            return "Nickname cannot be empty.";
+        }
+        if (input.length() > MAX_NAME_LENGTH) {
+            return String.format("Nickname exceeds maximum length of %d characters.", MAX_NAME_LENGTH);
+        }
+        if (!input.matches(NICKNAME_REGEX)) {
+            return "Nickname can only contain letters, numbers, dot, space, and hyphens.";
+        }
+        return null;
+    }
     
     public static String readValidUsername(Scanner scanner, String prompt) {
         while (true) {
@@ -199,41 +233,58 @@ public class InputHelper {
 
             if(input.equals("0")) return "0";
 
-            String clean = input.replaceAll("[^0-9]", "");
-            if (clean.length() == 11 && clean.startsWith("0")) {
-                clean = clean.substring(1);
+            String clean = normalizePhoneTR(input);
+            if (clean != null) {
+                return clean;
             }
 
-            if (clean.matches("^5[0-9]{9}$")) {
-                return clean; 
-            }
-            
-            System.out.println(ERR_PREFIX + "Invalid phone number! Must be 10 digits starting with 5 (e.g. 532xxxxxxx).");
+            System.out.println(ERR_PREFIX + PHONE_ERROR);
+        }
+    }
+
+    /**
+     * Reduces a Turkish mobile number to its 10 digits, e.g. "0532 123 45 67" -> "5321234567".
+     * @param input the phone number as typed
+     * @return the 10 digits, or null if the input is not a valid mobile number
+     */
+    public static String normalizePhoneTR(String input) {
+        String clean = input.replaceAll("[^0-9]", "");
+        if (clean.length() == 11 && clean.startsWith("0")) {
+            clean = clean.substring(1);
         }
+        return clean.matches("^5[0-9]{9}$") ? clean : null;
     }
 
     public static String readValidEmail(Scanner scanner, String prompt) {
-        String regex = "^[A-Za-z0-9çÇğĞıİöÖşŞüÜ+_.-]+@" +
-                        "[A-Za-z0-9.-]+\\." +
-                        "[A-Za-z]{2,}$";
         while (true) {
             System.out.print(prompt);
             String input = scanner.nextLine().trim();
 
             if(input.equals("0")) return "0";
-            
-            if (input.length() > MAX_EMAIL_LENGTH) {
-                 System.out.printf(ERR_PREFIX + "Email exceeds maximum length of %d characters.\n", MAX_EMAIL_LENGTH);
-                 continue;
-            }
 
-            if (input.matches(regex)) {
+            String error = checkEmail(input);
+            if (error == null) {
                 return input;
             }
-            System.out.println(ERR_PREFIX + "Invalid email format! (e.g. user@domain.com)");
+            System.out.println(ERR_PREFIX + error);
         }
     }
 
+    /**
+     * Checks an email address (already trimmed).
+     * @param input the email address
+     * @return error message if invalid, null if valid
+     */
+    public static String checkEmail(String input) {
+        if (input.length() > MAX_EMAIL_LENGTH) {
+            return String.format("Email exceeds maximum length of %d characters.", MAX_EMAIL_LENGTH);
+        }
+        if (!input.matches(EMAIL_REGEX)) {
+            return "Invalid email format! (e.g. user@domain.com)";
+        }
+        return null;
+    }
+
     public static LocalDate readValidPastDate(Scanner scanner, String prompt) {
         while (true) {
             System.out.print(prompt + " (" + util.DateUtil.getDateFormat() + "): ");
@@ -250,8 +301,6 @@ public class InputHelper {
     }
 
     public static String readValidLinkedin(Scanner scanner, String prompt) {
-        String linkedinRegex = "^https:\\/\\/([a-z]{2,3}\\.)?linkedin\\.com\\/.*$";
-
         while (true) {
             System.out.print(prompt + " (https://www.linkedin.com/in/______ ) [Type 'skip' to pass]: ");
             String input = scanner.nextLine().trim();
@@ -267,21 +316,35 @@ public class InputHelper {
                  continue;
             }
 
-            String finalUrl = input;
-            if (!input.toLowerCase().contains("linkedin.com")) {
-                finalUrl = "https://www.linkedin.com/in/" + input;
-            } else {
-                if (!finalUrl.startsWith("http")) {
-                    finalUrl = "https://" + finalUrl;
-                }
+            String finalUrl = normalizeLinkedin(input);
+            if (finalUrl != null) {
+                return finalUrl;
             }
 
-            if (finalUrl.matches(linkedinRegex) && !finalUrl.contains(" ")) {
-                return finalUrl;
+            System.out.println(ERR_PREFIX + LINKEDIN_ERROR);
+        }
+    }
+
+    /**
+     * Turns a LinkedIn username or URL into a full profile URL.
+     * The length limit of the linkedin_url column applies to the URL with the prefix added.
+     * @param input user name or URL
+     * @return the full URL, or null if it is not a valid LinkedIn URL or longer than 255 characters
+     */
+    public static String normalizeLinkedin(String input) {
+        String finalUrl = input;
+        if (!input.toLowerCase().contains("linkedin.com")) {
+            finalUrl = "https://www.linkedin.com/in/" + input;
+        } else {
+            if (!finalUrl.startsWith("http")) {
+                finalUrl = "https://" + finalUrl;
             }
+        }
 
-            System.out.println(ERR_PREFIX + "Invalid LinkedIn URL! Please enter a valid username or full URL.");
+        if (finalUrl.matches(LINKEDIN_REGEX) && !finalUrl.contains(" ") && finalUrl.length() <= MAX_LINKEDIN_LENGTH) {
+            return finalUrl;
         }
+        return null;
     }
 
     public static void clearScreen() {
@@ -0,0 +1,71 @@
+package util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Builds normalized search keys for name fields.
+ * A key is the value folded with Turkish case rules (I -> ı, İ -> i) and stripped of
+ * diacritics, with dotless ı mapped to i. Examples from the seed data:
+ * "İsmail" -> "ismail", "Uğurcan Çakır" -> "ugurcan cakir", "GÜNOK" -> "gunok".
+ * Keys are stored in binary-collated shadow columns (first_name_key, last_name_key),
+ * so equality and prefix searches compare bytes instead of re-folding every row.
+ */
+public class SearchKeys {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+
+    /**
+     * Folds a value into its search key.
+     * @param value the value to fold, may be null
+     * @return the search key, empty string for null
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String lower = value.trim().toLowerCase(TURKISH);
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            sb.append(c == 'ı' ? 'i' : c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Builds the search key of a phone number or phone prefix: digits only, without one
+     * leading trunk 0, so "0553 123" and "553123" are the same key.
+     * @param phone the number or prefix, may be null
+     * @return the digits, empty string for null
+     */
+    public static String phoneDigits(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sb.append(c);
+            }
+        }
+        if (sb.length() > 0 && sb.charAt(0) == '0') {
+            sb.deleteCharAt(0);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Folds a value and escapes the LIKE wildcards % and _ so it matches literally.
+     * @param value the value to fold
+     * @return escaped search key, to be combined with % wildcards
+     */
+    public static String foldForLike(String value) {
+        return fold(value).replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}